@@ -0,0 +1,104 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compara dois resultados CSV do BenchRunner (versão anterior x atual) e aponta regressões.
+// Throughput: maior é melhor; tempo e alocação (gc.*): menor é melhor.
+// Sai com código 1 se alguma métrica piorar mais que o limite (padrão 10%).
+// Uso: java -cp benchmarks.jar com.example.flappybird.BenchDiff antes.csv depois.csv [limite%]
+public class BenchDiff {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("uso: BenchDiff antes.csv depois.csv [limite%]");
+            System.exit(2);
+        }
+        double limit = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Row> before = read(args[0]);
+        Map<String, Row> after = read(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, Row> e : after.entrySet()) {
+            Row old = before.get(e.getKey());
+            Row now = e.getValue();
+            if (old == null) {
+                System.out.printf("%-90s %14.3f %-12s (novo)%n", e.getKey(), now.score, now.unit);
+                continue;
+            }
+            if (old.score == 0) continue;
+            double change = 100.0 * (now.score - old.score) / old.score;
+            // positivo = piorou
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean regression = worse > limit;
+            if (regression) regressions++;
+            System.out.printf("%-90s %14.3f -> %14.3f %-12s %+7.1f%%%s%n",
+                    e.getKey(), old.score, now.score, now.unit, change, regression ? "  REGRESSÃO" : "");
+        }
+        System.out.println(regressions + " regressões acima de " + limit + "%");
+        if (regressions > 0) System.exit(1);
+    }
+
+    private static Map<String, Row> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        Map<String, Row> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) return rows;
+        List<String> header = split(lines.get(0));
+        int bench = header.indexOf("Benchmark"), mode = header.indexOf("Mode");
+        int score = header.indexOf("Score"), unit = header.indexOf("Unit");
+        for (int l = 1; l < lines.size(); l++) {
+            List<String> cols = split(lines.get(l));
+            if (cols.size() < header.size()) continue;
+            // chave = benchmark + parâmetros
+            StringBuilder key = new StringBuilder(cols.get(bench));
+            for (int c = 0; c < header.size(); c++) {
+                if (header.get(c).startsWith("Param: ") && !cols.get(c).isEmpty()) {
+                    key.append(' ').append(header.get(c).substring(7)).append('=').append(cols.get(c));
+                }
+            }
+            Row r = new Row();
+            r.name = cols.get(bench);
+            r.mode = cols.get(mode);
+            r.unit = cols.get(unit);
+            try {
+                r.score = Double.parseDouble(cols.get(score));
+            } catch (NumberFormatException ex) {
+                continue; // NaN / vazio
+            }
+            rows.put(key.toString(), r);
+        }
+        return rows;
+    }
+
+    // CSV do JMH: campos entre aspas, separados por vírgula
+    private static List<String> split(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') quoted = !quoted;
+            else if (ch == ',' && !quoted) {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else cur.append(ch);
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    private static final class Row {
+        String name, mode, unit;
+        double score;
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt") && !name.contains("gc.");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Roda a suíte inteira com o profiler de GC (gc.alloc.rate / gc.alloc.rate.norm) e grava os
+// resultados em CSV (ou JSON se o arquivo terminar em .json) para comparar com BenchDiff.
+// Uso: java -cp benchmarks.jar com.example.flappybird.BenchRunner [arquivo] [regex de benchmarks]
+public class BenchRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String file = args.length > 0 ? args[0] : "jmh-results.csv";
+        String include = args.length > 1 ? args[1] : "com\\.example\\.flappybird\\..*Bench";
+
+        Options opts = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(file.endsWith(".json") ? ResultFormatType.JSON : ResultFormatType.CSV)
+                .result(file)
+                .build();
+        new Runner(opts).run();
+        System.out.println("Resultados em " + file);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Champion.decide (rede congelada, desenrolada) contra NeuralNetwork.compute na topologia do jogo.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChampionBench {
+    NeuralNetwork network;
+    Champion champion;
+    double[] input;
+    double[] out = new double[AIManager.OUTPUTS];
+    double in0, in1, in2, in3;
+
+    @Setup
+    public void setup() {
+        network = new NeuralNetwork(1, AIManager.INPUTS, AIManager.HIDDEN, AIManager.OUTPUTS, new Random(42));
+        champion = Champion.of(network);
+        input = new double[]{0.3, -0.1, 0.2, 0.19};
+        in0 = 0.3; in1 = -0.1; in2 = 0.2; in3 = 0.19;
+    }
+
+    @Benchmark
+    public boolean championDecide() {
+        return champion.decide(in0, in1, in2, in3);
+    }
+
+    @Benchmark
+    public double[] championEvaluate() {
+        champion.evaluate(in0, in1, in2, in3, out);
+        return out;
+    }
+
+    @Benchmark
+    public boolean networkCompute() {
+        return network.compute(input)[0] > 0.5;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// GA.evolve (seleção top-K + clonagem + mutação) na topologia padrão 4-6-2.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EvolveBench {
+
+    @Param({"1000", "100000", "1000000"})
+    int popSize;
+
+    @Param({"1", "8"})
+    int threads;
+
+    GA ga;
+    WorkerPool workers;
+    SplittableRandom rnd;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ga = new GA(popSize, 1, 4, 6, 2, 42, Precision.DOUBLE, false);
+        workers = new WorkerPool(threads);
+        rnd = new SplittableRandom(42);
+    }
+
+    // evolve zera o fitness; sorteia de novo antes de cada chamada
+    @Setup(Level.Invocation)
+    public void fitness() {
+        double[] f = ga.fitness;
+        for (int i = 0; i < f.length; i++) f[i] = rnd.nextInt(5000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workers.shutdown();
+    }
+
+    @Benchmark
+    public void evolve() {
+        ga.evolve(workers);
+    }
+}
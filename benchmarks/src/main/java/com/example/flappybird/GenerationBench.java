@@ -0,0 +1,54 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Uma geração headless completa (da população inicial até todos morrerem + evolve), seed fixa.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GenerationBench {
+    static final double DT = 1.0 / 60.0;
+
+    @Param({"1", "8"})
+    int threads;
+
+    GameWorld world;
+
+    // mundo novo a cada iteração: sempre a mesma primeira geração
+    @Setup(Level.Iteration)
+    public void setup() {
+        world = new GameWorld(42, threads);
+        world.init();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        world.workers.shutdown();
+    }
+
+    @Benchmark
+    public long generation() {
+        long frames = 0;
+        do {
+            frames++;
+        } while (!world.step(DT));
+        return frames;
+    }
+}
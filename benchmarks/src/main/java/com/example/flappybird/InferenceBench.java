@@ -0,0 +1,81 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// NeuralNetwork.compute (uma rede, aloca por chamada) e PopulationInference (lote de BATCH pássaros)
+// em alguns tamanhos de camada e com cada implementação de ativação. populationBatchSimd é o mesmo
+// lote no VectorInference (arena intercalada); com LUT ele cai no escalar.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class InferenceBench {
+    static final int INPUTS = 4;
+    static final int OUTPUTS = 2;
+    static final int BATCH = WorkerPool.CHUNK;
+
+    @Param({"1", "2"})
+    int hiddenLayers;
+
+    @Param({"6", "16", "64"})
+    int hiddenSize;
+
+    @Param({"EXACT", "LUT", "RATIONAL", "CLAMP"})
+    Activation activation;
+
+    NeuralNetwork network;
+    double[] input;
+    PopulationInference batch;
+    PopulationInference simd;
+    BirdPopulation birds;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        network = new NeuralNetwork(hiddenLayers, INPUTS, hiddenSize, OUTPUTS, rnd);
+        input = new double[]{0.3, -0.1, 0.2, 0.19};
+
+        GA ga = new GA(BATCH, hiddenLayers, INPUTS, hiddenSize, OUTPUTS, 42, Precision.DOUBLE, false);
+        batch = new PopulationInference(ga.genomes, hiddenLayers, INPUTS, hiddenSize, OUTPUTS, activation);
+        birds = new BirdPopulation(BATCH);
+        for (int i = 0; i < BATCH; i++) birds.spawn(i, 0, 0);
+        for (int i = 0; i < batch.inputs.length; i++) batch.inputs[i] = rnd.nextDouble() * 2 - 1;
+
+        simd = PopulationInference.create(ga.genomes.interleaved(), hiddenLayers, INPUTS, hiddenSize, OUTPUTS,
+                true, activation);
+        System.arraycopy(batch.inputs, 0, simd.inputs, 0, batch.inputs.length);
+    }
+
+    @Benchmark
+    public double[] networkCompute() {
+        return network.compute(input);
+    }
+
+    // tempo por lote de BATCH pássaros
+    @Benchmark
+    public double[] populationBatch() {
+        batch.computeAlive(birds, 0, 0, BATCH);
+        return batch.outputs;
+    }
+
+    @Benchmark
+    public double[] populationBatchSimd() {
+        simd.computeAlive(birds, 0, 0, BATCH);
+        return simd.outputs;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Redes sparse (SparseInference) contra a densa 4-6-2 padrão, num lote de BATCH pássaros: rede mínima
+// (hidden = 0: entradas ligadas direto nas saídas) e redes crescidas até `hidden` escondidos por
+// mutação (cada uma com topologia diferente), no programa interpretado e no bytecode gerado.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseBench {
+    static final int INPUTS = 4;
+    static final int OUTPUTS = 2;
+    static final int BATCH = WorkerPool.CHUNK;
+
+    @Param({"0", "6", "24"})
+    int hidden;
+
+    @Param({"false", "true"})
+    boolean codegen;
+
+    PopulationInference dense, sparse;
+    BirdPopulation birds;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        GA ga = new GA(BATCH, 1, INPUTS, AIManager.HIDDEN, OUTPUTS, 42, Precision.DOUBLE, false);
+        dense = new PopulationInference(ga.genomes, 1, INPUTS, AIManager.HIDDEN, OUTPUTS);
+
+        // cresce cada genoma só com inserções até `hidden` escondidos
+        SparseGenomes.Structure s = new SparseGenomes.Structure();
+        s.addNode = 0.5;
+        s.addConnection = 1;
+        s.removeConnection = 0;
+        s.removeNode = 0;
+        s.maxNodes = 64;
+        s.maxConnections = 256;
+        SparseGA sga = new SparseGA(BATCH, INPUTS, OUTPUTS, 42, 1, new GenomeUtils.Mutation(), s, codegen);
+        SplittableRandom r = new SplittableRandom(42);
+        for (int i = 0; i < BATCH; i++) {
+            while (sga.sparse.hiddenCount(i) < hidden) sga.sparse.mutate(i, r);
+        }
+        sga.recompile(new WorkerPool(1));
+        sparse = new SparseInference(sga, INPUTS, OUTPUTS, Activation.EXACT);
+
+        birds = new BirdPopulation(BATCH);
+        for (int i = 0; i < BATCH; i++) birds.spawn(i, 0, 0);
+        for (int i = 0; i < dense.inputs.length; i++) dense.inputs[i] = sparse.inputs[i] = rnd.nextDouble() * 2 - 1;
+    }
+
+    // referência: 4-6-2 densa (44 pesos por rede)
+    @Benchmark
+    public double[] dense() {
+        dense.computeAlive(birds, 0, 0, BATCH);
+        return dense.outputs;
+    }
+
+    // tempo por lote de BATCH pássaros
+    @Benchmark
+    public double[] sparse() {
+        sparse.computeAlive(birds, 0, 0, BATCH);
+        return sparse.outputs;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.flappybird;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Física, colisão e busca do próximo cano sobre a população completa (single thread).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WorldBench {
+
+    GameWorld world;
+    BirdPopulation birds;
+    PipePair pipe;
+
+    @Setup
+    public void setup() {
+        world = new GameWorld(42, 1);
+        world.init();
+        birds = world.ai.birds;
+        // cano em cima da faixa dos pássaros, vão largo o bastante para ninguém bater
+        pipe = new PipePair(birds.minX - 20, GameWorld.WINDOW_H * 0.45, 200);
+        world.pipes.clear();
+        world.pipes.add(pipe);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.workers.shutdown();
+    }
+
+    // passo de física de todos os vivos. O dt do mundo fica em 0 (stepFrame nunca é chamado aqui),
+    // então ninguém se move nem morre e todas as iterações medem o mesmo trabalho.
+    @Benchmark
+    public int physicsStep() {
+        return world.physicsChunk(0, 0, birds.size);
+    }
+
+    @Benchmark
+    public int collisionSweep() {
+        world.collectNearPipes();
+        return world.collisionChunk(0, 0, birds.size);
+    }
+
+    @Benchmark
+    public void collidesWith(Blackhole bh) {
+        double[] x = birds.x, y = birds.y;
+        for (int i = 0; i < birds.size; i++) bh.consume(pipe.collidesAt(x[i], y[i]));
+    }
+
+    @Benchmark
+    public void procurarProximoObstaculo(Blackhole bh) {
+        double[] x = birds.x;
+        for (int i = 0; i < birds.size; i++) bh.consume(world.procurarProximoObstaculo(x[i]));
+    }
+}
@@ -1,92 +1,182 @@
 package com.example.flappybird;
 
-import com.example.flappybird.FlappyBirdInit;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class AIManager {
 
-    public GA ga;
-    public List<FlappyBirdInit.Bird> birds = new ArrayList<>();
-    public List<Boolean> alive = new ArrayList<>();
+    public Evolution evolution; // seleção, elites e fitness: o ga ou o sparse, conforme RunConfig.sparse
+    public GA ga;               // rede densa (null com RunConfig.sparse)
+    public SparseGA sparse;     // topologia variável (null sem RunConfig.sparse)
+    public BirdPopulation birds;
+    public PopulationInference brains;
     public int generation = 1;
     public double bestFitness = 0;
     public int aliveCount = 0;
-
-    private static final int POP_SIZE = 100000;
-    private static final int INPUTS = 4;
-    private static final int HIDDEN = 6;
-    private static final int OUTPUTS = 2;
-
-    private FlappyBirdInit game;
-
-    public AIManager(FlappyBirdInit game) {
+    public Champion champion; // melhor rede até agora, congelada (para exportar)
+    public DecisionThrottle throttle; // opcional: rede a cada k frames / quando as entradas mudam
+
+    // padrões do RunConfig; entradas/saídas são fixas (as features e as ações do jogo)
+    static final int POP_SIZE = 100000;
+    static final int INPUTS = 4;
+    static final int HIDDEN = 6;
+    static final int OUTPUTS = 2;
+
+    // largada: SPAWN_X ± SPAWN_X_SPREAD/2 em x, a faixa que os pássaros ocupam o jogo todo
+    static final double SPAWN_X = GameWorld.WINDOW_W * 0.25;
+    static final double SPAWN_X_SPREAD = 10;
+
+    private GameWorld game;
+    private final long seed;
+    private final Random spawnRnd = new Random();
+
+    // alvo de cada faixa x neste frame: quem está até splitX mira `ahead`, quem já passou
+    // da borda direita dele mira `next`. Calculado uma vez por frame para toda a população.
+    private final PipeInputs ahead = new PipeInputs();
+    private final PipeInputs next = new PipeInputs();
+    private double splitX;
+
+    // população, topologia, GA e precisão vêm do RunConfig; seed é a do mundo + 1
+    public AIManager(GameWorld game, long seed, RunConfig config) {
         this.game = game;
-        ga = new GA(POP_SIZE, 1, INPUTS, HIDDEN, OUTPUTS);
+        this.seed = seed;
+        birds = new BirdPopulation(config.population);
+        if (config.sparse) {
+            evolution = sparse = new SparseGA(config.population, INPUTS, OUTPUTS, seed + 1, config.elites,
+                    config.mutation, config.structure, config.codegen);
+            brains = new SparseInference(sparse, INPUTS, OUTPUTS, config.activation);
+        } else {
+            evolution = ga = new GA(config.population, config.hiddenLayers, INPUTS, config.hiddenSize, OUTPUTS, seed + 1,
+                    config.precision, config.offHeap, config.elites, config.mutation);
+            // simd lê os pesos intercalados (GenomeArena.Interleaved); LUT fica no escalar
+            if (config.simd && config.activation != Activation.LUT) ga.genomes = ga.genomes.interleaved();
+            brains = PopulationInference.create(ga.genomes, config.hiddenLayers, INPUTS, config.hiddenSize, OUTPUTS,
+                    config.simd, config.activation);
+        }
+        if (config.decisionInterval > 1 || config.decisionThreshold > 0) {
+            throttle = new DecisionThrottle(config.population, INPUTS, config.decisionInterval, config.decisionThreshold);
+        }
     }
 
     public void initGeneration() {
-        birds.clear();
-        alive.clear();
-        for (int i = 0; i < ga.size(); i++) {
-            double baseX = FlappyBirdInit.WINDOW_W * 0.25;
-            double baseY = FlappyBirdInit.WINDOW_H * 0.45;
-            double yOffset = (Math.random() - 0.5) * 40; // ±20 px aleatório
-            double xOffset = (Math.random() - 0.5) * 10; // ±5 px aleatório (opcional)
-            FlappyBirdInit.Bird b = game.new Bird(baseX + xOffset, baseY + yOffset);
-            birds.add(b);
-            alive.add(true);
+        if (game.courses != null) {
+            game.courses.spawn(this);
+            return;
         }
-        aliveCount = birds.size();
+        // posições iniciais dependem só de (seed, geração): um checkpoint não precisa do estado do gerador
+        spawnRnd.setSeed(GenomeUtils.mix64(seed ^ GenomeUtils.mix64(generation)));
+        birds.resetAnimation();
+        birds.resetBounds();
+        for (int i = 0; i < evolution.size(); i++) {
+            respawn(i, spawnRnd);
+        }
+        aliveCount = birds.size;
     }
 
-    public void update(double dt) {
-        for (int i = 0; i < birds.size(); i++) {
-            FlappyBirdInit.Bird b = birds.get(i);
-            if (!alive.get(i)) continue;
-
-            // Se morreu, marca como morto
-            if (!b.alive) {
-                markDead(i);
-                continue;
-            }
+    // nasce na posição inicial com um pequeno desvio sorteado
+    void respawn(int i, RandomGenerator r) {
+        double x = place(i, r);
+        birds.widen(x, x);
+    }
 
-            // Procura o próximo cano
-            int idx = game.procurarProximoObstaculo(b.x);
-            if (idx >= game.pipes.size()) continue;
-            FlappyBirdInit.PipePair p = game.pipes.get(idx);
+    // respawn sem alargar birds.minX/maxX (blocos paralelos do SteadyState); devolve o x sorteado
+    double place(int i, RandomGenerator r) {
+        double baseY = GameWorld.WINDOW_H * 0.45;
+        double yOffset = (r.nextDouble() - 0.5) * 40; // ±20 px aleatório
+        double xOffset = (r.nextDouble() - 0.5) * SPAWN_X_SPREAD; // ±5 px aleatório (opcional)
+        double x = SPAWN_X + xOffset;
+        birds.place(i, x, baseY + yOffset);
+        return x;
+    }
 
-            // Calcula distância horizontal e vertical normalizada
-            double distH = (p.x + 26) - b.x;
-            double distV = ((p.bottomY + p.topY) / 2.0) - b.y;
-            double gap = p.gap;
+    public void update(double dt) {
+        // Procura o próximo cano: os pássaros ocupam uma faixa x estreita (±5 px) e os canos estão
+        // ordenados, então no máximo dois canos são alvo (o da frente e, para quem já passou dele, o seguinte)
+        int idx = game.procurarProximoObstaculo(birds.minX);
+        ahead.set(game.pipes, idx);
+        next.set(game.pipes, idx + 1);
+        splitX = ahead.valid ? ahead.pipeRight : Double.POSITIVE_INFINITY;
+
+        int evaluated = game.workers.forEachChunk(birds.size, throttle == null ? this::updateChunk : this::throttledChunk);
+        game.metrics.countDecisions(evaluated, aliveCount);
+    }
 
-            // Inputs para a rede neural: distH, distV, velocidade vertical do pássaro, gap
-            double[] input = new double[]{
-                    distH / FlappyBirdInit.WINDOW_W,
-                    distV / FlappyBirdInit.WINDOW_H,
-                    b.vy / 500.0, // normaliza a velocidade vertical
-                    gap / FlappyBirdInit.WINDOW_H
-            };
+    // entradas + rede + flap de um bloco; cada pássaro só depende do próprio estado e dos canos.
+    // Devolve quantas redes rodaram
+    private int updateChunk(int chunk, int from, int to) {
+        int evaluated = 0;
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            fillInputs(i);
+            evaluated++;
+        }
 
-            // Saída da rede neural
-            double[] out = ga.population[i].compute(input);
+        // Saída da rede neural (o bloco inteiro de uma vez)
+        brains.computeAlive(birds, chunk, from, to);
 
-            // Decisão de flap
-            // Para teste inicial, força flap se a rede neural der qualquer valor positivo
-            if (out[0] > 0.5) b.flap(); // começa com mais flaps
+        // Decisão de flap
+        double[] out = brains.outputs;
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            if (out[i * OUTPUTS] > 0.5) birds.flap(i);
+        }
+        return evaluated;
+    }
 
+    // mesma coisa com o DecisionThrottle: só os marcados rodam a rede, o resto repete a última ação
+    private int throttledChunk(int chunk, int from, int to) {
+        DecisionThrottle t = throttle;
+        double[] in = brains.inputs;
+        int[] age = birds.framesAlive;
+        int evaluated = 0;
+        t.clear(from, to);
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            if (t.check(i, age[i], in, i * INPUTS, fillInputs(i))) evaluated++;
+        }
+
+        brains.computeMarked(t.due, chunk, from, to);
 
+        double[] out = brains.outputs;
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            boolean flap = t.isDue(i) ? t.decided(i, out[i * OUTPUTS] > 0.5, in, i * INPUTS, targetSerial(i)) : t.hold(i);
+            if (flap) birds.flap(i);
         }
+        return evaluated;
+    }
+
+    // cano-alvo do pássaro i neste frame (mesma escolha do fillInputs)
+    private int targetSerial(int i) {
+        PipeInputs p = birds.x[i] <= splitX ? ahead : next;
+        return p.valid ? p.serial : -1;
     }
 
+    // entradas da rede do pássaro i (distH, distV, velocidade vertical, gap); sem cano à frente ficam
+    // as do frame anterior. Devolve o serial do cano-alvo (-1 se nenhum)
+    private int fillInputs(int i) {
+        PipeInputs p = birds.x[i] <= splitX ? ahead : next;
+        if (!p.valid) return -1;
+        double[] in = brains.inputs;
+        int k = i * INPUTS;
+        in[k] = (p.front - birds.x[i]) / GameWorld.WINDOW_W;
+        in[k + 1] = (p.mid - birds.y[i]) / GameWorld.WINDOW_H;
+        in[k + 2] = birds.vy[i] / 500.0; // normaliza a velocidade vertical
+        in[k + 3] = p.gapNorm;
+        return p.serial;
+    }
 
     public void markDead(int i) {
-        if (alive.get(i)) {
-            alive.set(i, false);
-            ga.setFitness(i, game.framesAlive);
-            aliveCount--;
-        }
+        if (kill(i)) aliveCount--;
+    }
+
+    // versão sem contador para os blocos paralelos: quem chama soma as mortes e desconta de aliveCount
+    boolean kill(int i) {
+        return kill(i, 0);
+    }
+
+    // morte já certa daqui a `ahead` frames (GameWorld.cullChunk): o fitness é o do frame da batida
+    boolean kill(int i, int ahead) {
+        if (!birds.kill(i)) return false;
+        // steady-state: cada um nasce num frame diferente, conta a própria vida
+        evolution.setFitness(i, (game.steady != null ? birds.framesAlive[i] : game.framesAlive) + ahead);
+        return true;
     }
 
     public boolean allDead() {
@@ -95,14 +185,68 @@ public class AIManager {
 
     public void evolveAndRestart() {
         double maxFit = 0;
-        for (double f : ga.fitness) if (f > maxFit) maxFit = f;
-        if (maxFit > bestFitness) bestFitness = maxFit;
-
-        System.out.println("Geração " + generation + " - Melhor fitness: " + maxFit);
+        for (double f : evolution.fitness) if (f > maxFit) maxFit = f;
+        if (maxFit > bestFitness || champion == null) {
+            bestFitness = Math.max(bestFitness, maxFit);
+            // Champion guarda camadas densas: redes sparse não são exportadas
+            if (ga != null) champion = Champion.fromPopulation(this, ga.bestIndex(), game.seed);
+        }
 
-        ga.evolve();
+        System.out.println((game.island != null ? "Ilha " + game.island.id + " - " : "") + "Geração " + generation + " - Melhor fitness: " + maxFit);
+
+        TrainingMetrics metrics = game.metrics;
+        metrics.recordFitness(evolution.fitness);
+        if (game.checkpointer != null) game.checkpointer.onGenerationEnd(game);
+        if (game.island != null) game.island.emigrate(this);
+        long t = System.nanoTime();
+        evolution.evolve(game.workers);
+        metrics.add(TrainingMetrics.Phase.EVOLVE, t);
+        if (game.island != null) game.island.immigrate(this);
+        metrics.endGeneration(generation);
         generation++;
         initGeneration();
         game.restartPipes();
     }
+
+    // steady-state: não há evolve em bloco; a cada `population` mortes fecha uma geração só de relatório
+    void reportSteady(SteadyState steady) {
+        double maxFit = 0;
+        for (double f : steady.completed) if (f > maxFit) maxFit = f;
+        int oldest = steady.oldestAlive(birds);
+        if (oldest >= 0) maxFit = Math.max(maxFit, birds.framesAlive[oldest]); // vivo: fitness até aqui
+        if (maxFit > bestFitness || champion == null) {
+            Champion c = steady.champion(this, generation, game.seed);
+            if (c != null) {
+                champion = c;
+                bestFitness = Math.max(bestFitness, c.fitness);
+            }
+        }
+
+        System.out.println("Geração " + generation + " - Melhor fitness: " + maxFit + " (" + steady.births + " nascimentos)");
+
+        game.metrics.recordFitness(steady.completed);
+        game.metrics.endGeneration(generation);
+        generation++;
+    }
+
+    // o que a entrada da rede precisa de um cano, já calculado (mesmas contas de antes, mesma ordem)
+    private static final class PipeInputs {
+        boolean valid;
+        int serial;
+        double pipeRight; // borda direita: depois dela o pássaro passa a mirar o próximo
+        double front;     // p.x + 26 (meio do cano)
+        double mid;       // centro do vão
+        double gapNorm;   // gap / WINDOW_H
+
+        void set(PipeTrack pipes, int idx) {
+            valid = idx < pipes.size();
+            if (!valid) return;
+            PipePair p = pipes.get(idx);
+            serial = p.serial;
+            pipeRight = p.x + GameWorld.PIPE_W;
+            front = p.x + 26;
+            mid = (p.bottomY + p.topY) / 2.0;
+            gapNorm = p.gap / GameWorld.WINDOW_H;
+        }
+    }
 }
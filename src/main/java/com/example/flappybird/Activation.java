@@ -0,0 +1,51 @@
+package com.example.flappybird;
+
+// Implementações das ativações, escolhidas por treino (RunConfig.activation). A decisão de flap só
+// olha sigmoid(saída 0) > 0.5, ou seja, o sinal da soma: qualquer sigmoid crescente com f(0) = 0.5
+// decide igual à exata (a não ser com a soma colada em zero). ActivationAgreementTest mede a concordância.
+public enum Activation {
+    // as do C: exp de verdade e relu com if
+    EXACT {
+        @Override double sigmoid(double x) { return NeuralNetwork.sigmoid(x); }
+        @Override double relu(double x) { return NeuralNetwork.relu(x); }
+    },
+    // tabela em [-LUT_RANGE, LUT_RANGE] com interpolação linear; fora dela satura
+    LUT {
+        @Override double sigmoid(double x) {
+            double p = Math.min(Math.max((x + LUT_RANGE) * LUT_SCALE, 0), LUT_STEPS);
+            int k = (int) p;
+            double[] t = Table.SIGMOID;
+            return t[k] + (p - k) * (t[k + 1] - t[k]);
+        }
+    },
+    // 0.5 + 0.5 x / (1 + |x|): uma divisão, sem exp
+    RATIONAL {
+        @Override double sigmoid(double x) { return 0.5 + 0.5 * x / (1.0 + Math.abs(x)); }
+    },
+    // reta 0.5 + x/4 saturada em [0, 1] (hard sigmoid), só min/max
+    CLAMP {
+        @Override double sigmoid(double x) { return Math.min(Math.max(0.5 + 0.25 * x, 0.0), 1.0); }
+    };
+
+    static final double LUT_RANGE = 16;
+    static final int LUT_STEPS = 4096;
+    static final double LUT_SCALE = LUT_STEPS / (2 * LUT_RANGE);
+
+    abstract double sigmoid(double x);
+
+    // [0, 10000] como a do C, mas com min/max (sem desvio) fora da EXACT
+    double relu(double x) {
+        return Math.min(Math.max(x, 0.0), 10000.0);
+    }
+
+    // fora do enum para existir antes das constantes usarem; +1 posição para p == LUT_STEPS
+    private static final class Table {
+        static final double[] SIGMOID = new double[LUT_STEPS + 2];
+
+        static {
+            for (int k = 0; k < SIGMOID.length; k++) {
+                SIGMOID[k] = NeuralNetwork.sigmoid(-LUT_RANGE + k / LUT_SCALE);
+            }
+        }
+    }
+}
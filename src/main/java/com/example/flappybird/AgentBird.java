@@ -1,35 +1,43 @@
 package com.example.flappybird;
 
-import com.example.flappybird.FlappyBirdInit; // ajuste pacote se necessário
-
 public class AgentBird {
-    public FlappyBirdInit.Bird bird; // referência ao Bird do seu jogo
-    public NeuralNetwork brain;
+    public Bird bird; // referência ao Bird do seu jogo
+    public NeuralNetwork brain; // null quando veio de um campeão exportado
+    public Champion champion;   // avaliador congelado usado em decide()
     public double fitness;
     public double[] genome;
 
-    public AgentBird(FlappyBirdInit.Bird b, NeuralNetwork brain) {
+    public AgentBird(Bird b, NeuralNetwork brain) {
         this.bird = b;
         this.brain = brain;
+        this.champion = Champion.of(brain);
         this.genome = brain.toGenome();
         this.fitness = 0;
     }
 
-    // compute inputs normalized and get outputs
-    // você precisa implementar um método no jogo para retornar próximos canos (index etc).
-    public boolean decide(double distH, double distV, double pipeVy, double gapSize, double windowW, double windowH) {
-        // normalize (exemplos)
-        double in0 = distH / windowW; // 0..1 (ou maior)
-        double in1 = distV / windowH; // -1..1 maybe
-        double in2 = pipeVy / 5.0;     // ajuste denom conforme escala do seu jogo
-        double in3 = gapSize / windowH;
-
-        double[] input = new double[] { in0, in1, in2, in3 };
-        double[] out = brain.compute(input);
+    public AgentBird(Bird b, Champion champion) {
+        this.bird = b;
+        this.champion = champion;
+        this.genome = champion.weights();
+        this.fitness = 0;
+    }
 
-        boolean jump = out[0] > 0.0;
-        boolean parachute = out[1] > 0.0;
+    // compute inputs normalized and get outputs (mesma normalização do AIManager)
+    public boolean decide(double distH, double distV, double birdVy, double gapSize, double windowW, double windowH) {
+        double in0 = distH / windowW;
+        double in1 = distV / windowH;
+        double in2 = birdVy / 500.0;
+        double in3 = gapSize / windowH;
         // aplique efeitos ao bird no loop externo (ex: if (jump) bird.flap();)
-        return jump;
+        return champion.decide(in0, in1, in2, in3);
+    }
+
+    // decide contra o próximo cano da pista (o mesmo alvo que o treino usa); false se não há cano
+    public boolean decide(PipeTrack pipes) {
+        int idx = pipes.nextFor(bird.x);
+        if (idx >= pipes.size()) return false;
+        PipePair p = pipes.get(idx);
+        return decide(p.x + 26 - bird.x, (p.bottomY + p.topY) / 2.0 - bird.y, bird.vy, p.gap,
+                GameWorld.WINDOW_W, GameWorld.WINDOW_H);
     }
 }
@@ -0,0 +1,43 @@
+package com.example.flappybird;
+
+// Pássaro sem dependência de JavaFX (física + hitbox); o desenho fica no FlappyBirdInit
+public class Bird {
+    double x, y;
+    double w = 34, h = 24;
+    double vy = 0;
+    double rotation = 0;
+    int animIndex = 0;
+    double animTimer = 0;
+    public boolean alive = true;
+    int colorIndex = 0; // 0 amarelo, 1 azul, 2 vermelho
+
+    Bird(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    void flap() {
+        vy = GameWorld.FLAP_IMPULSE;
+        rotation = -25;
+    }
+
+    void update(double dt) {
+        vy += GameWorld.GRAVITY * dt;
+        y += vy * dt;
+
+        if (vy < 0) rotation = -25;
+        else if (vy < 200) rotation = 0;
+        else rotation = 90;
+
+        animTimer += dt;
+        if (animTimer >= 0.12) {
+            animIndex = (animIndex + 1) % 3;
+            animTimer = 0;
+        }
+    }
+
+    double left() { return x - (w / 2.0); }
+    double right() { return x + (w / 2.0); }
+    double top() { return y - (h / 2.0); }
+    double bottom() { return y + (h / 2.0); }
+}
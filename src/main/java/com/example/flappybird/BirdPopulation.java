@@ -0,0 +1,148 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+
+// População de pássaros em structure-of-arrays: um array primitivo por campo,
+// vivos num bitset de longs. Sem objeto por pássaro e sem boxing.
+public class BirdPopulation {
+    public static final double BIRD_W = 34;
+    public static final double BIRD_H = 24;
+
+    public final int size;
+    public final double[] x;
+    public final double[] y;
+    public final double[] vy;
+    public final int[] framesAlive;
+    public final byte[] colorIndex; // 0 amarelo, 1 azul, 2 vermelho (só para o render)
+    private final long[] aliveBits;
+
+    // faixa x ocupada pelos pássaros (x não muda depois do spawn); usada na varredura de colisão
+    public double minX = Double.POSITIVE_INFINITY;
+    public double maxX = Double.NEGATIVE_INFINITY;
+
+    // animação é igual para todos (todos nascem juntos), então fica compartilhada
+    public int animIndex = 0;
+    private double animTimer = 0;
+
+    public BirdPopulation(int size) {
+        this.size = size;
+        x = new double[size];
+        y = new double[size];
+        vy = new double[size];
+        framesAlive = new int[size];
+        colorIndex = new byte[size];
+        aliveBits = new long[(size + 63) >>> 6];
+    }
+
+    // reposiciona o pássaro i e marca como vivo
+    public void spawn(int i, double px, double py) {
+        place(i, px, py);
+        widen(px, px);
+    }
+
+    // spawn sem mexer em minX/maxX: seguro em blocos paralelos (bitset em palavras de 64, blocos
+    // múltiplos de 64); quem chama alarga a faixa depois, numa thread só
+    public void place(int i, double px, double py) {
+        x[i] = px;
+        y[i] = py;
+        vy[i] = 0;
+        framesAlive[i] = 0;
+        aliveBits[i >>> 6] |= 1L << i;
+    }
+
+    public void widen(double lo, double hi) {
+        if (lo < minX) minX = lo;
+        if (hi > maxX) maxX = hi;
+    }
+
+    public void resetBounds() {
+        minX = Double.POSITIVE_INFINITY;
+        maxX = Double.NEGATIVE_INFINITY;
+    }
+
+    public void resetAnimation() {
+        animIndex = 0;
+        animTimer = 0;
+    }
+
+    public void killAll() {
+        Arrays.fill(aliveBits, 0L);
+    }
+
+    public boolean isAlive(int i) {
+        return (aliveBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // devolve true se o pássaro estava vivo
+    public boolean kill(int i) {
+        long mask = 1L << i;
+        long word = aliveBits[i >>> 6];
+        if ((word & mask) == 0) return false;
+        aliveBits[i >>> 6] = word & ~mask;
+        return true;
+    }
+
+    // próximo vivo a partir de from (inclusive), ou -1 (mesma ideia de BitSet.nextSetBit)
+    public int nextAlive(int from) {
+        return nextSet(aliveBits, size, from);
+    }
+
+    // bitset dos vivos (só leitura; ver PopulationInference.computeMarked)
+    long[] aliveWords() {
+        return aliveBits;
+    }
+
+    // próximo bit ligado de um bitset por índice de pássaro, a partir de from, ou -1
+    static int nextSet(long[] bits, int size, int from) {
+        if (from >= size) return -1;
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+    }
+
+    // próximo morto a partir de from (inclusive), ou -1
+    public int nextDead(int from) {
+        if (from >= size) return -1;
+        int w = from >>> 6;
+        long word = ~aliveBits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                return i < size ? i : -1;
+            }
+            if (++w == aliveBits.length) return -1;
+            word = ~aliveBits[w];
+        }
+    }
+
+    public void flap(int i) {
+        vy[i] = GameWorld.FLAP_IMPULSE;
+    }
+
+    public void updateAnimation(double dt) {
+        animTimer += dt;
+        if (animTimer >= 0.12) {
+            animIndex = (animIndex + 1) % 3;
+            animTimer = 0;
+        }
+    }
+
+    // só existem três ângulos (mesma regra do Bird.update): subindo -25, caindo devagar 0, caindo rápido 90
+    public static final double[] ROTATIONS = {-25, 0, 90};
+
+    // índice em ROTATIONS (o render usa sprites já rotacionados)
+    public int rotationBucket(int i) {
+        double v = vy[i];
+        if (v < 0) return 0;
+        if (v < 200) return 1;
+        return 2;
+    }
+
+    public double rotation(int i) {
+        return ROTATIONS[rotationBucket(i)];
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Rede campeã congelada: só os pesos, sem GA, arena ou população.
+// Na topologia padrão (4 entradas, 1 camada de 6, 2 saídas) o feedforward é desenrolado sobre um
+// único double[]; outras topologias (RunConfig) usam o laço genérico com buffers da instância
+// (sem alocar, mas aí uma instância por thread). Nada é alocado por chamada.
+// Mesma ordem de soma do PopulationInference, então decide() dá a mesma resposta que o treino
+// (com FIXED16 os pesos vêm decodificados e a soma pode diferir no último bit).
+//
+// Arquivo (little endian): magic "FBCH" | versão | hiddenLayers | inputs | hiddenSize | outputs |
+// geração | fitness (double) | seed do mundo (long) | pesos (double, ordem do genoma)
+public final class Champion {
+    static final int MAGIC = 0x46424348; // "FBCH"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 7 * Integer.BYTES + Double.BYTES + Long.BYTES;
+    static final int WEIGHTS = NeuralNetwork.weightCount(1, AIManager.INPUTS, AIManager.HIDDEN, AIManager.OUTPUTS);
+
+    // posições no genoma: neurônio escondido n em [5n, 5n+5), saída o em [30 + 7o, 30 + 7o + 7)
+    private static final int OUT0 = AIManager.HIDDEN * (AIManager.INPUTS + 1);
+    private static final int OUT1 = OUT0 + AIManager.HIDDEN + 1;
+
+    // sigmoid(x) > 0.5 só vale para x acima de ~1e-16; acima disto nem precisa calcular o exp
+    private static final double SURE_FLAP = 1e-12;
+
+    public final int hiddenLayers, hiddenSize;
+    public final int generation;
+    public final double fitness;
+    public final long seed;
+    private final double[] w;
+    private final boolean unrolled;
+    private final double[] a, b, out; // só no laço genérico
+
+    Champion(int hiddenLayers, int hiddenSize, double[] weights, int generation, double fitness, long seed) {
+        int expected = NeuralNetwork.weightCount(hiddenLayers, AIManager.INPUTS, hiddenSize, AIManager.OUTPUTS);
+        if (weights.length != expected) throw new IllegalArgumentException("genoma com " + weights.length + " pesos, esperado " + expected);
+        this.hiddenLayers = hiddenLayers;
+        this.hiddenSize = hiddenSize;
+        this.w = weights.clone();
+        this.generation = generation;
+        this.fitness = fitness;
+        this.seed = seed;
+        unrolled = hiddenLayers == 1 && hiddenSize == AIManager.HIDDEN;
+        int width = Math.max(AIManager.INPUTS, hiddenSize) + 1;
+        a = unrolled ? null : new double[width];
+        b = unrolled ? null : new double[width];
+        out = unrolled ? null : new double[AIManager.OUTPUTS];
+    }
+
+    // congela uma rede qualquer com as entradas/saídas do jogo
+    public static Champion of(NeuralNetwork net) {
+        return new Champion(net.hiddenLayers(), net.hiddenSize(), net.toGenome(), 0, 0, 0);
+    }
+
+    // congela o indivíduo i da população atual
+    public static Champion fromPopulation(AIManager ai, int i, long seed) {
+        return fromPopulation(ai, i, seed, ai.ga.fitness[i], ai.generation);
+    }
+
+    static Champion fromPopulation(AIManager ai, int i, long seed, double fitness, int generation) {
+        return new Champion(ai.brains.hiddenLayers, ai.brains.hiddenSize, ai.ga.network(i).toGenome(),
+                generation, fitness, seed);
+    }
+
+    public double[] weights() {
+        return w.clone();
+    }
+
+    // só a primeira saída (flap), igual ao `out > 0.5` do AIManager
+    public boolean decide(double in0, double in1, double in2, double in3) {
+        if (!unrolled) {
+            evaluateGeneric(in0, in1, in2, in3, out);
+            return out[0] > 0.5;
+        }
+        final double[] w = this.w;
+        double h0 = NeuralNetwork.relu(in0 * w[0] + in1 * w[1] + in2 * w[2] + in3 * w[3] + w[4]);
+        double h1 = NeuralNetwork.relu(in0 * w[5] + in1 * w[6] + in2 * w[7] + in3 * w[8] + w[9]);
+        double h2 = NeuralNetwork.relu(in0 * w[10] + in1 * w[11] + in2 * w[12] + in3 * w[13] + w[14]);
+        double h3 = NeuralNetwork.relu(in0 * w[15] + in1 * w[16] + in2 * w[17] + in3 * w[18] + w[19]);
+        double h4 = NeuralNetwork.relu(in0 * w[20] + in1 * w[21] + in2 * w[22] + in3 * w[23] + w[24]);
+        double h5 = NeuralNetwork.relu(in0 * w[25] + in1 * w[26] + in2 * w[27] + in3 * w[28] + w[29]);
+        double o0 = h0 * w[OUT0] + h1 * w[OUT0 + 1] + h2 * w[OUT0 + 2] + h3 * w[OUT0 + 3]
+                + h4 * w[OUT0 + 4] + h5 * w[OUT0 + 5] + w[OUT0 + 6];
+        return o0 > SURE_FLAP || (o0 > 0 && NeuralNetwork.sigmoid(o0) > 0.5);
+    }
+
+    // as duas saídas (já com sigmoid) em out[0..1]
+    public void evaluate(double in0, double in1, double in2, double in3, double[] out) {
+        if (!unrolled) {
+            evaluateGeneric(in0, in1, in2, in3, out);
+            return;
+        }
+        final double[] w = this.w;
+        double h0 = NeuralNetwork.relu(in0 * w[0] + in1 * w[1] + in2 * w[2] + in3 * w[3] + w[4]);
+        double h1 = NeuralNetwork.relu(in0 * w[5] + in1 * w[6] + in2 * w[7] + in3 * w[8] + w[9]);
+        double h2 = NeuralNetwork.relu(in0 * w[10] + in1 * w[11] + in2 * w[12] + in3 * w[13] + w[14]);
+        double h3 = NeuralNetwork.relu(in0 * w[15] + in1 * w[16] + in2 * w[17] + in3 * w[18] + w[19]);
+        double h4 = NeuralNetwork.relu(in0 * w[20] + in1 * w[21] + in2 * w[22] + in3 * w[23] + w[24]);
+        double h5 = NeuralNetwork.relu(in0 * w[25] + in1 * w[26] + in2 * w[27] + in3 * w[28] + w[29]);
+        out[0] = NeuralNetwork.sigmoid(h0 * w[OUT0] + h1 * w[OUT0 + 1] + h2 * w[OUT0 + 2] + h3 * w[OUT0 + 3]
+                + h4 * w[OUT0 + 4] + h5 * w[OUT0 + 5] + w[OUT0 + 6]);
+        out[1] = NeuralNetwork.sigmoid(h0 * w[OUT1] + h1 * w[OUT1 + 1] + h2 * w[OUT1 + 2] + h3 * w[OUT1 + 3]
+                + h4 * w[OUT1 + 4] + h5 * w[OUT1 + 5] + w[OUT1 + 6]);
+    }
+
+    // mesmas contas do PopulationInference.compute
+    private void evaluateGeneric(double in0, double in1, double in2, double in3, double[] outputs) {
+        double[] a = this.a, b = this.b;
+        a[0] = in0;
+        a[1] = in1;
+        a[2] = in2;
+        a[3] = in3;
+        a[AIManager.INPUTS] = 1.0; // bias
+        int prevCount = AIManager.INPUTS + 1;
+        int wi = 0;
+        for (int L = 0; L < hiddenLayers; L++) {
+            for (int n = 0; n < hiddenSize; n++) {
+                double sum = 0;
+                for (int k = 0; k < prevCount; k++) sum += a[k] * w[wi + k];
+                b[n] = NeuralNetwork.relu(sum);
+                wi += prevCount;
+            }
+            b[hiddenSize] = 1.0; // bias
+            double[] t = a; a = b; b = t;
+            prevCount = hiddenSize + 1;
+        }
+        for (int o = 0; o < AIManager.OUTPUTS; o++) {
+            double sum = 0;
+            for (int k = 0; k < prevCount; k++) sum += a[k] * w[wi + k];
+            outputs[o] = NeuralNetwork.sigmoid(sum);
+            wi += prevCount;
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + w.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION)
+                .putInt(hiddenLayers).putInt(AIManager.INPUTS).putInt(hiddenSize).putInt(AIManager.OUTPUTS)
+                .putInt(generation).putDouble(fitness).putLong(seed);
+        buf.asDoubleBuffer().put(w);
+        Files.write(file, buf.array());
+    }
+
+    public static Champion load(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) throw new IOException(file + " não é um campeão exportado");
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("versão de campeão não suportada: " + version);
+        int hiddenLayers = buf.getInt(), inputs = buf.getInt(), hiddenSize = buf.getInt(), outputs = buf.getInt();
+        if (inputs != AIManager.INPUTS || outputs != AIManager.OUTPUTS || hiddenLayers < 1 || hiddenSize < 1) {
+            throw new IOException("topologia de " + file + " não bate com a do jogo");
+        }
+        int generation = buf.getInt();
+        double fitness = buf.getDouble();
+        long seed = buf.getLong();
+        int count = NeuralNetwork.weightCount(hiddenLayers, inputs, hiddenSize, outputs);
+        if (buf.remaining() != count * Double.BYTES) throw new IOException(file + " truncado");
+        double[] weights = new double[count];
+        buf.asDoubleBuffer().get(weights);
+        return new Champion(hiddenLayers, hiddenSize, weights, generation, fitness, seed);
+    }
+}
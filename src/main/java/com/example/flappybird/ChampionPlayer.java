@@ -0,0 +1,58 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// Modo só-jogar: carrega um campeão exportado e joga episódios com um único pássaro,
+// sem GA nem população. Mesma física e mesmos canos do GameWorld.
+// Uso: java -cp target/classes com.example.flappybird.ChampionPlayer campeao.bin [episodios] [maxFrames] [seed] [dt]
+public class ChampionPlayer {
+
+    private ChampionPlayer() {}
+
+    public static void main(String[] args) throws IOException {
+        Champion champion = Champion.load(Paths.get(args[0]));
+        int episodes = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxFrames = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : champion.seed;
+        double dt = args.length > 4 ? Double.parseDouble(args[4]) : 1.0 / 60.0;
+
+        System.out.println("Campeão da geração " + champion.generation + " (fitness " + (long) champion.fitness + ")");
+        PipeTrack pipes = new PipeTrack();
+        Random rnd = new Random();
+        long totalFrames = 0;
+        long start = System.nanoTime();
+        for (int e = 0; e < episodes; e++) {
+            rnd.setSeed(GenomeUtils.mix64(seed ^ GenomeUtils.mix64(e)));
+            int frames = play(new AgentBird(new Bird(GameWorld.WINDOW_W * 0.25, GameWorld.WINDOW_H * 0.45), champion),
+                    pipes, rnd, dt, maxFrames);
+            totalFrames += frames;
+            System.out.println("Episódio " + (e + 1) + ": " + frames + " frames" + (frames >= maxFrames ? " (limite)" : ""));
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Média %.1f frames, %.0f frames/s%n", (double) totalFrames / episodes, totalFrames / secs);
+    }
+
+    // um episódio: devolve quantos frames o pássaro sobreviveu (mesma ordem de fases do GameWorld)
+    static int play(AgentBird agent, PipeTrack pipes, Random rnd, double dt, int maxFrames) {
+        Bird b = agent.bird;
+        GameWorld.resetPipes(pipes, rnd);
+        double half = b.h / 2.0;
+        double baseTop = GameWorld.WINDOW_H - GameWorld.BASE_H;
+        for (int frame = 1; frame <= maxFrames; frame++) {
+            if (agent.decide(pipes)) b.flap();
+
+            b.update(dt);
+            if (b.y - half <= 0 || b.y + half >= baseTop) return frame; // teto/chão
+
+            GameWorld.advancePipes(pipes, rnd, dt);
+            for (int i = pipes.nextFor(b.left()); i < pipes.size(); i++) {
+                PipePair p = pipes.get(i);
+                if (p.x >= b.right()) break;
+                if (p.collidesWith(b)) return frame;
+            }
+        }
+        return maxFrames;
+    }
+}
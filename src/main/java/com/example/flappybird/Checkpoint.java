@@ -0,0 +1,129 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Checkpoint binário do GA, tirado no fim de uma geração (antes do evolve):
+//   cabeçalho de 64 bytes (little endian)
+//     0 magic "FBCK" | 4 versão | 8 hiddenLayers | 12 inputs | 16 hiddenSize | 20 outputs
+//     24 precisão | 28 população | 32 stride | 36 geração | 40 seed do mundo
+//     48 evolves já feitos | 56 melhor fitness
+//   arena de genomas crua (população * stride * bytes da precisão)
+//   fitness da geração (população doubles)
+// Os geradores aleatórios são derivados de (seed, geração), então seed + contadores bastam
+// para continuar exatamente do mesmo ponto.
+public final class Checkpoint {
+    static final int MAGIC = 0x4642434B; // "FBCK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    public static final class Header {
+        public int hiddenLayers, inputCount, hiddenSize, outputCount;
+        public Precision precision;
+        public int popSize, stride, generation;
+        public long seed, evolveCount;
+        public double bestFitness;
+
+        public Header() {}
+    }
+
+    private Checkpoint() {}
+
+    static long fileBytes(AIManager ai) {
+        return HEADER_BYTES + ai.ga.genomes.bytes() + (long) ai.ga.size() * Double.BYTES;
+    }
+
+    // copia o estado para `reuse` (ou um buffer novo, se não couber); roda na thread do treino
+    static ByteBuffer snapshot(GameWorld world, ByteBuffer reuse) {
+        AIManager ai = world.ai;
+        long bytes = fileBytes(ai);
+        if (bytes > Integer.MAX_VALUE) throw new IllegalStateException("checkpoint maior que 2 GB");
+        ByteBuffer buf = reuse != null && reuse.capacity() >= bytes
+                ? reuse : ByteBuffer.allocateDirect((int) bytes);
+        buf.clear().limit((int) bytes);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+
+        PopulationInference b = ai.brains;
+        GenomeArena arena = ai.ga.genomes;
+        buf.putInt(MAGIC).putInt(VERSION)
+                .putInt(b.hiddenLayers).putInt(b.inputCount).putInt(b.hiddenSize).putInt(b.outputCount)
+                .putInt(arena.precision.ordinal()).putInt(arena.size).putInt(arena.stride)
+                .putInt(ai.generation).putLong(world.seed).putLong(ai.ga.evolveCount())
+                .putDouble(ai.bestFitness);
+        arena.writeTo(buf);
+        buf.asDoubleBuffer().put(ai.ga.fitness);
+        buf.position(buf.limit());
+        buf.flip();
+        return buf;
+    }
+
+    // grava o snapshot num arquivo temporário mapeado e troca pelo definitivo (atômico)
+    static void write(Path file, ByteBuffer snapshot) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = ch.map(FileChannel.MapMode.READ_WRITE, 0, snapshot.remaining());
+            out.put(snapshot.duplicate());
+            out.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            return header(buf, file);
+        }
+    }
+
+    private static Header header(ByteBuffer buf, Path file) throws IOException {
+        if (buf.getInt() != MAGIC) throw new IOException(file + " não é um checkpoint");
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("versão de checkpoint não suportada: " + version);
+        Header h = new Header();
+        h.hiddenLayers = buf.getInt();
+        h.inputCount = buf.getInt();
+        h.hiddenSize = buf.getInt();
+        h.outputCount = buf.getInt();
+        h.precision = Precision.values()[buf.getInt()];
+        h.popSize = buf.getInt();
+        h.stride = buf.getInt();
+        h.generation = buf.getInt();
+        h.seed = buf.getLong();
+        h.evolveCount = buf.getLong();
+        h.bestFitness = buf.getDouble();
+        return h;
+    }
+
+    // carrega o checkpoint num mundo criado com a mesma seed/topologia/precisão e segue
+    // a partir do evolve daquela geração (mesmo resultado de quem nunca parou)
+    public static void resume(GameWorld world, Path file) throws IOException {
+        AIManager ai = world.ai;
+        GenomeArena arena = ai.ga.genomes;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+            Header h = header(buf, file);
+            PopulationInference b = ai.brains;
+            if (h.hiddenLayers != b.hiddenLayers || h.inputCount != b.inputCount || h.hiddenSize != b.hiddenSize
+                    || h.outputCount != b.outputCount || h.popSize != arena.size || h.stride != arena.stride
+                    || h.precision != arena.precision || h.seed != world.seed) {
+                throw new IOException("checkpoint " + file + " não bate com a configuração atual");
+            }
+            buf.position(HEADER_BYTES);
+            arena.readFrom(buf);
+            buf.asDoubleBuffer().get(ai.ga.fitness);
+            ai.generation = h.generation;
+            ai.bestFitness = h.bestFitness;
+            ai.ga.restoreEvolveCount(h.evolveCount);
+        }
+        ai.evolveAndRestart();
+        world.framesAlive = 0;
+    }
+}
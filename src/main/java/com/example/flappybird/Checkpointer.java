@@ -0,0 +1,56 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Checkpoints periódicos sem parar o treino: na thread do treino só o snapshot (cópia em bloco
+// para um buffer direto reaproveitado); a gravação no disco fica numa thread separada.
+// Se a gravação anterior ainda não terminou, o checkpoint da vez é pulado.
+public class Checkpointer {
+    private final Path file;
+    private final int every;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "checkpoint-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean busy = new AtomicBoolean(false);
+    private ByteBuffer buffer;
+
+    public Checkpointer(Path file, int every) {
+        this.file = file;
+        this.every = Math.max(1, every);
+    }
+
+    // chamado no fim de cada geração, antes do evolve
+    public void onGenerationEnd(GameWorld world) {
+        if (world.ai.generation % every != 0) return;
+        if (!busy.compareAndSet(false, true)) {
+            System.err.println("Checkpoint da geração " + world.ai.generation + " pulado (gravação anterior em andamento)");
+            return;
+        }
+        buffer = Checkpoint.snapshot(world, buffer);
+        ByteBuffer snapshot = buffer;
+        int generation = world.ai.generation;
+        writer.execute(() -> {
+            try {
+                Checkpoint.write(file, snapshot);
+            } catch (IOException e) {
+                System.err.println("Falha no checkpoint da geração " + generation + ": " + e);
+            } finally {
+                busy.set(false);
+            }
+        });
+    }
+
+    // espera a última gravação terminar
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
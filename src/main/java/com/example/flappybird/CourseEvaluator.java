@@ -0,0 +1,120 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Avaliação em K cursos fixos: cada geração joga K episódios, um por curso, e o fitness do
+// genoma é a média dos K. Os cursos (canos e posição inicial, igual para todos os pássaros)
+// vêm de K seeds derivadas da seed do mundo e não mudam durante o treino, então o resultado de
+// um genoma num curso é sempre o mesmo: fica no FitnessCache por (hash do genoma, seed do curso)
+// e quem já está no cache (elites mantidos pelo evolve) nem nasce no episódio.
+// Genomas repetidos na mesma geração (mesmo hash e mesmos pesos) também só jogam uma vez: como
+// todos largam do mesmo ponto, a trajetória das cópias é idêntica à do primeiro, que empresta o resultado.
+public class CourseEvaluator {
+    public final int courses;
+    public final long[] seeds;
+    public final FitnessCache cache;
+    public long duplicates; // cópias que não precisaram jogar
+
+    private int course = 0; // curso em andamento nesta geração
+    private final long[] genomeHash;
+    private final double[] total;
+    private final double[] score;  // fitness no curso atual (NaN = jogando)
+    private final int[] leader;    // primeiro indivíduo com o mesmo genoma, ou -1
+    private final int[] table;     // hash -> índice, para achar os repetidos
+    private final Random spawnRnd = new Random();
+
+    public CourseEvaluator(long worldSeed, int courses, int population, int cacheCapacity) {
+        this.courses = Math.max(1, courses);
+        seeds = new long[this.courses];
+        for (int k = 0; k < seeds.length; k++) {
+            seeds[k] = GenomeUtils.mix64(worldSeed ^ GenomeUtils.mix64(0xC0DE0000L + k));
+        }
+        cache = new FitnessCache(cacheCapacity);
+        genomeHash = new long[population];
+        total = new double[population];
+        score = new double[population];
+        leader = new int[population];
+        table = new int[Integer.highestOneBit(population * 2 - 1) * 2];
+    }
+
+    public long courseSeed() {
+        return seeds[course];
+    }
+
+    public int course() {
+        return course;
+    }
+
+    // início de um episódio: todos no mesmo ponto de largada do curso; quem está no cache fica fora
+    void spawn(AIManager ai) {
+        GA ga = ai.ga;
+        BirdPopulation birds = ai.birds;
+        int n = ga.size();
+        if (course == 0) {
+            for (int i = 0; i < n; i++) {
+                genomeHash[i] = ga.genomes.hash(i);
+                total[i] = 0;
+            }
+            findDuplicates(ga.genomes, n);
+        }
+
+        spawnRnd.setSeed(courseSeed());
+        double x = AIManager.SPAWN_X + (spawnRnd.nextDouble() - 0.5) * AIManager.SPAWN_X_SPREAD;
+        double y = GameWorld.WINDOW_H * 0.45 + (spawnRnd.nextDouble() - 0.5) * 40;
+        birds.resetAnimation();
+        birds.resetBounds();
+        int skipped = 0;
+        for (int i = 0; i < n; i++) {
+            birds.spawn(i, x, y);
+            score[i] = leader[i] >= 0 ? Double.NaN : cache.get(FitnessCache.key(genomeHash[i], courseSeed()));
+            if (leader[i] >= 0 || !Double.isNaN(score[i])) {
+                birds.kill(i);
+                skipped++;
+            }
+        }
+        ai.aliveCount = birds.size - skipped;
+    }
+
+    // leader[i] = primeiro j < i com os mesmos pesos (hash igual confirmado peso a peso), senão -1
+    private void findDuplicates(GenomeArena genomes, int n) {
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        for (int i = 0; i < n; i++) {
+            leader[i] = -1;
+            int slot = (int) genomeHash[i] & mask;
+            for (int j; (j = table[slot]) >= 0; slot = (slot + 1) & mask) {
+                if (genomeHash[j] == genomeHash[i] && genomes.sameWeights(i, j)) {
+                    leader[i] = j;
+                    break;
+                }
+            }
+            if (leader[i] < 0) table[slot] = i;
+        }
+    }
+
+    // fim de um episódio; devolve true se era o último curso (ga.fitness fica com a média)
+    boolean endEpisode(AIManager ai) {
+        double[] fitness = ai.ga.fitness;
+        long seed = courseSeed();
+        for (int i = 0; i < fitness.length; i++) {
+            double f;
+            if (leader[i] >= 0) {
+                f = score[leader[i]]; // o primeiro vem antes, já resolvido
+                duplicates++;
+            } else if (!Double.isNaN(score[i])) {
+                f = score[i];
+            } else {
+                f = fitness[i];
+                cache.put(FitnessCache.key(genomeHash[i], seed), f);
+            }
+            score[i] = f;
+            total[i] += f;
+        }
+        if (++course < courses) return false;
+
+        course = 0;
+        for (int i = 0; i < fitness.length; i++) fitness[i] = total[i] / courses;
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+
+// Decisões espaçadas: a rede de cada pássaro só roda a cada `interval` frames e, entre uma decisão e
+// outra, a última ação (bater asa ou não) é repetida. Modo adaptativo (threshold > 0): decide antes
+// da hora se alguma entrada mudou mais que threshold desde a última decisão ou se o cano-alvo mudou;
+// aí interval é só o máximo que uma ação fica segurada.
+// Estado por pássaro em arrays primitivos (como o BirdPopulation); cada bloco do WorkerPool só mexe
+// nos próprios índices (CHUNK é múltiplo de 64, então nas próprias palavras do bitset).
+public class DecisionThrottle {
+    public final int interval;
+    public final double threshold;
+
+    final long[] due;                 // quem roda a rede neste frame (subconjunto dos vivos)
+    private final int[] since;        // frames desde a última decisão
+    private final int[] target;       // PipePair.serial do alvo na última decisão (-1 = nenhum)
+    private final double[] lastInputs;
+    private final boolean[] flap;     // ação segurada
+    private final int inputs;
+
+    public DecisionThrottle(int size, int inputs, int interval, double threshold) {
+        this.interval = interval;
+        this.threshold = threshold;
+        this.inputs = inputs;
+        due = new long[(size + 63) >>> 6];
+        since = new int[size];
+        target = new int[size];
+        lastInputs = new double[size * inputs];
+        flap = new boolean[size];
+    }
+
+    void clear(int from, int to) {
+        Arrays.fill(due, from >>> 6, (to + 63) >>> 6, 0L);
+    }
+
+    // marca i se a rede precisa rodar neste frame; in[k..]: entradas atuais, pipe: serial do alvo
+    boolean check(int i, int age, double[] in, int k, int pipe) {
+        boolean now = age == 0 || since[i] + 1 >= interval; // recém-nascido sempre decide
+        if (!now && threshold > 0) {
+            now = pipe != target[i];
+            for (int j = 0, l = i * inputs; j < inputs && !now; j++) {
+                now = Math.abs(in[k + j] - lastInputs[l + j]) > threshold;
+            }
+        }
+        if (now) due[i >>> 6] |= 1L << i;
+        return now;
+    }
+
+    boolean isDue(int i) {
+        return (due[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // a rede rodou: guarda a ação e o que ela viu
+    boolean decided(int i, boolean flapNow, double[] in, int k, int pipe) {
+        since[i] = 0;
+        target[i] = pipe;
+        flap[i] = flapNow;
+        if (threshold > 0) System.arraycopy(in, k, lastInputs, i * inputs, inputs);
+        return flapNow;
+    }
+
+    // sem decisão neste frame: repete a última
+    boolean hold(int i) {
+        since[i]++;
+        return flap[i];
+    }
+}
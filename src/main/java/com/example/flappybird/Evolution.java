@@ -0,0 +1,109 @@
+package com.example.flappybird;
+
+import java.util.SplittableRandom;
+
+// Seleção por elites comum aos dois GAs: fitness, os `step` melhores como modelos e a reprodução em
+// blocos paralelos. Quem herda só diz como um filho nasce de um modelo (breed): GA copia e muta os
+// pesos da arena, SparseGA copia e muta os genomas esparsos.
+public abstract class Evolution {
+    public double[] fitness;
+    private final long seed;
+    private long generation = 0;
+
+    // quantos melhores viram modelos (clonados para o resto da população); padrão, ver RunConfig.elites
+    static final int STEP = 5;
+    private final int step;
+    private final int[] elite;
+    private final boolean[] isElite;
+    private final WorkerPool serial = new WorkerPool(1);
+
+    Evolution(int popSize, long seed, int elites) {
+        this.seed = seed;
+        this.step = Math.max(1, Math.min(elites, popSize));
+        this.elite = new int[step];
+        fitness = new double[popSize];
+        isElite = new boolean[popSize];
+    }
+
+    public int size() { return fitness.length; }
+
+    public long seed() { return seed; }
+
+    // quantas vezes evolve já rodou (entra na seed das mutações; salvo no checkpoint)
+    public long evolveCount() { return generation; }
+
+    void restoreEvolveCount(long count) { generation = count; }
+
+    public void setFitness(int idx, double f) { fitness[idx] = f; }
+
+    public void evolve() {
+        evolve(serial);
+    }
+
+    // selection + clonagem + mutação inspired by RandomMutations() do C.
+    // Os `step` melhores ficam intactos; cada um dos outros recebe uma cópia de um deles
+    // (em rodízio) e é mutado. Blocos em paralelo, cada um com seu próprio gerador
+    // derivado de (seed, geração, bloco): resultado igual com qualquer número de threads.
+    public void evolve(WorkerPool workers) {
+        int N = size();
+        selectTop(fitness, elite, step);
+        for (int k = 0; k < step; k++) isElite[elite[k]] = true;
+
+        generation++;
+        workers.forEachChunk(N, (chunk, from, to) -> {
+            SplittableRandom r = new SplittableRandom(
+                    GenomeUtils.mix64(seed ^ GenomeUtils.mix64(generation * 0x10000L + chunk)));
+            for (int i = from; i < to; i++) {
+                if (!isElite[i]) breed(elite[i % step], i, r);
+                fitness[i] = 0; // reset
+            }
+            return 0;
+        });
+
+        for (int k = 0; k < step; k++) isElite[elite[k]] = false;
+    }
+
+    // filho i = cópia mutada do modelo `parent` (r: gerador do bloco)
+    abstract void breed(int parent, int i, SplittableRandom r);
+
+    // top-K por inserção sobre arrays primitivos, O(N*K) sem boxing nem sort completo.
+    // Empate: menor índice primeiro (mesmo resultado do sort estável anterior).
+    static void selectTop(double[] fitness, int[] out, int k) {
+        int filled = 0;
+        for (int i = 0; i < fitness.length; i++) {
+            double f = fitness[i];
+            if (filled == k && f <= fitness[out[k - 1]]) continue;
+            int pos = filled < k ? filled++ : k - 1;
+            while (pos > 0 && fitness[out[pos - 1]] < f) {
+                out[pos] = out[pos - 1];
+                pos--;
+            }
+            out[pos] = i;
+        }
+    }
+
+    // índices dos k melhores da geração atual (antes do evolve), do melhor para o pior
+    public int[] best(int k) {
+        int[] out = new int[Math.min(k, size())];
+        selectTop(fitness, out, out.length);
+        return out;
+    }
+
+    // true se o indivíduo i foi mantido intacto no último evolve
+    public boolean isEliteSlot(int i) {
+        for (int k = 0; k < eliteCount(); k++) if (elite[k] == i) return true;
+        return false;
+    }
+
+    // melhores da última seleção (genomas mantidos intactos); nenhum antes do primeiro evolve
+    public int eliteCount() { return generation == 0 ? 0 : step; }
+
+    public int elite(int k) { return elite[k]; }
+
+    // optional: get best index
+    public int bestIndex() {
+        int best = 0;
+        for (int i = 1; i < fitness.length; i++) if (fitness[i] > fitness[best]) best = i;
+        return best;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+
+// Cache de fitness por (hash do genoma, curso): tabelas de endereçamento aberto sobre arrays
+// primitivos (sem boxing). São duas: quando a atual passa da metade, ela vira a antiga e a antiga
+// é esvaziada para virar a atual. Um acerto na antiga é copiado para a atual, então um elite que
+// se mantém por muitas gerações nunca sai do cache.
+public class FitnessCache {
+    private static final long EMPTY = 0;
+
+    private long[] keys, oldKeys;
+    private double[] values, oldValues;
+    private final int mask;
+    private int count;
+
+    public long hits, misses;
+
+    public FitnessCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+        keys = new long[size];
+        values = new double[size];
+        oldKeys = new long[size];
+        oldValues = new double[size];
+        mask = size - 1;
+    }
+
+    static long key(long genomeHash, long courseSeed) {
+        long k = GenomeUtils.mix64(genomeHash ^ GenomeUtils.mix64(courseSeed));
+        return k == EMPTY ? 1 : k;
+    }
+
+    // fitness guardado para a chave, ou NaN
+    public double get(long key) {
+        int i = find(keys, key);
+        if (keys[i] == key) {
+            hits++;
+            return values[i];
+        }
+        int j = find(oldKeys, key);
+        if (oldKeys[j] == key) {
+            hits++;
+            double v = oldValues[j];
+            put(key, v);
+            return v;
+        }
+        misses++;
+        return Double.NaN;
+    }
+
+    public void put(long key, double value) {
+        if (count * 2 >= keys.length) rotate();
+        int i = find(keys, key);
+        if (keys[i] != key) {
+            keys[i] = key;
+            count++;
+        }
+        values[i] = value;
+    }
+
+    // posição da chave ou do vazio onde ela entraria
+    private int find(long[] table, long key) {
+        int i = (int) key & mask;
+        while (table[i] != key && table[i] != EMPTY) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rotate() {
+        long[] k = oldKeys;
+        double[] v = oldValues;
+        oldKeys = keys;
+        oldValues = values;
+        Arrays.fill(k, EMPTY);
+        keys = k;
+        values = v;
+        count = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(oldKeys, EMPTY);
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -1,85 +1,54 @@
 package com.example.flappybird;
 
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Random;
+import java.util.SplittableRandom;
 
-public class GA {
-    public NeuralNetwork[] population;
-    public double[][] genomes; // flat genomes for quick mutate/copy
-    public double[] fitness;
-    private Random rnd = new Random();
+// GA da rede densa: os pesos de todos ficam na GenomeArena; seleção e elites vêm de Evolution.
+public class GA extends Evolution {
+    public GenomeArena genomes; // todos os pesos, stride fixo por indivíduo
+    private final int hiddenLayers, inputCount, hiddenSize, outputCount;
+    private Random rnd;
+    private final GenomeUtils.Mutation mutation;
 
     public GA(int popSize, int hiddenLayers, int inputCount, int hiddenSize, int outputCount) {
-        population = new NeuralNetwork[popSize];
-        genomes = new double[popSize][];
-        fitness = new double[popSize];
-        for (int i = 0; i < popSize; i++) {
-            population[i] = new NeuralNetwork(hiddenLayers, inputCount, hiddenSize, outputCount);
-            genomes[i] = population[i].toGenome();
-            fitness[i] = 0;
-        }
+        this(popSize, hiddenLayers, inputCount, hiddenSize, outputCount, new Random().nextLong(), Precision.DOUBLE, false);
     }
 
-    public int size() { return population.length; }
-
-    public void setFitness(int idx, double f) { fitness[idx] = f; }
-
-    // selection + clonagem + mutação inspired by RandomMutations() do C
-    public void evolve() {
-        int N = size();
-        // create array of indices sorted by fitness descending
-        Integer[] idxs = new Integer[N];
-        for (int i = 0; i < N; i++) idxs[i] = i;
-        Arrays.sort(idxs, Comparator.comparingDouble((Integer k) -> fitness[k]).reversed());
-
-        // keep top K clones
-        int Step = Math.max(1, 5); // keep first `Step` as templates
-        // clone: for i in 0..Step-1 make copies across population in pattern from C
-        for (int i = 0; i < Step; i++) {
-            for (int j = Step + i; j < N; j += Step) {
-                // copy genome of ranked i to ranked j
-                int src = idxs[i];
-                int dst = idxs[j];
-                System.arraycopy(genomes[src], 0, genomes[dst], 0, genomes[src].length);
-            }
-        }
+    // mesma seed -> mesma população inicial e mesmas mutações.
+    // precision: como os pesos são guardados (mutações são arredondadas para ela); offHeap: arena fora do heap
+    public GA(int popSize, int hiddenLayers, int inputCount, int hiddenSize, int outputCount, long seed,
+              Precision precision, boolean offHeap) {
+        this(popSize, hiddenLayers, inputCount, hiddenSize, outputCount, seed, precision, offHeap,
+                STEP, GenomeUtils.DEFAULT_MUTATION);
+    }
 
-        // mutate the others (following C logic)
-        double RangeRandom = genomes[0].length;
-        for (int r = Step; r < N; r++) {
-            int index = idxs[r];
-            int mutations = rnd.nextInt((int)RangeRandom) + 1;
-            for (int m = 0; m < mutations; m++) {
-                int tipo = rnd.nextInt(3);
-                int gidx = rnd.nextInt(genomes[index].length);
-                switch (tipo) {
-                    case 0:
-                        genomes[index][gidx] = rnd.nextDouble()*2000.0 - 1000.0;
-                        break;
-                    case 1:
-                        double num = (rnd.nextInt(10001)/10000.0) + 0.5;
-                        genomes[index][gidx] = genomes[index][gidx] * num;
-                        break;
-                    case 2:
-                        double n = (rnd.nextDouble()*2000.0 - 1000.0)/100.0;
-                        genomes[index][gidx] = genomes[index][gidx] + n;
-                        break;
-                }
-            }
+    // elites: quantos melhores ficam intactos e viram modelos; mutation: taxas das mutações
+    public GA(int popSize, int hiddenLayers, int inputCount, int hiddenSize, int outputCount, long seed,
+              Precision precision, boolean offHeap, int elites, GenomeUtils.Mutation mutation) {
+        super(popSize, seed, elites);
+        this.mutation = mutation;
+        this.hiddenLayers = hiddenLayers;
+        this.inputCount = inputCount;
+        this.hiddenSize = hiddenSize;
+        this.outputCount = outputCount;
+        rnd = new Random(seed);
+        genomes = GenomeArena.allocate(popSize,
+                NeuralNetwork.weightCount(hiddenLayers, inputCount, hiddenSize, outputCount), precision, offHeap);
+        // mesma sequência de antes (rede a rede, peso a peso)
+        int total = popSize * genomes.stride;
+        for (int i = 0; i < total; i++) {
+            genomes.set(i, rnd.nextDouble() * (2 * mutation.range) - mutation.range);
         }
+    }
 
-        // copy genomes back into networks
-        for (int i = 0; i < N; i++) {
-            population[i].fromGenome(genomes[i]);
-            fitness[i] = 0; // reset
-        }
+    // view sobre o indivíduo i (não copia pesos)
+    public NeuralNetwork network(int i) {
+        return new NeuralNetwork(hiddenLayers, inputCount, hiddenSize, outputCount, genomes, i);
     }
 
-    // optional: get best index
-    public int bestIndex() {
-        int best = 0;
-        for (int i = 1; i < fitness.length; i++) if (fitness[i] > fitness[best]) best = i;
-        return best;
+    @Override
+    void breed(int parent, int i, SplittableRandom r) {
+        genomes.copyIndividual(parent, i);
+        GenomeUtils.mutate(genomes, i, r, mutation);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,335 @@
+package com.example.flappybird;
+
+import java.util.Random;
+
+// Mundo do jogo sem JavaFX: canos, física, colisões e ciclo de gerações.
+// Usado tanto pela janela (FlappyBirdInit) quanto pelo treino headless (HeadlessTrainer).
+public final class GameWorld {
+
+    // Window
+    public static final int WINDOW_W = 576;
+    public static final int WINDOW_H = 512;
+
+    // Constants
+    public static final double GRAVITY = 900;
+    public static final double FLAP_IMPULSE = -300;
+    public static final double PIPE_SPEED = -120;
+    public static final double PIPE_GAP = 100;
+    public static final double PIPE_SPACING = 120;
+    public static final double BASE_SCROLL_SPEED = 180;
+
+    // Dimensões dos sprites (base.png e pipe-green.png)
+    public static final double BASE_H = 112;
+    public static final double PIPE_W = 52;
+    public static final double PIPE_H = 320;
+
+    // World entities
+    public PipeTrack pipes = new PipeTrack();
+    public long framesAlive = 0;
+
+    // AI
+    public AIManager ai;
+    public final WorkerPool workers;
+    public final TrainingMetrics metrics = new TrainingMetrics();
+    public Checkpointer checkpointer; // opcional
+    public Island island; // opcional (modelo de ilhas)
+    public CourseEvaluator courses; // opcional: K cursos fixos por geração em vez de um sorteado
+    public SteadyState steady; // opcional: GA steady-state (sem barreira de geração)
+
+    // controle de episódio (0/false = desligado): a geração também termina ao chegar em maxFrames
+    // ou quando o número de vivos fica parado por stagnationFrames; cullDoomed mata antes da hora
+    // quem a física já garante que vai bater no próximo cano. Os sobreviventes de um episódio cortado
+    // recebem o fitness do frame em que ele terminou.
+    public int maxFrames = 0;
+    public int stagnationFrames = 0;
+    public boolean cullDoomed = false;
+    private int lastAlive;
+    private long flatFrames;
+    private PipePair doomPipe;
+    private static final double DOOM_MARGIN = 1; // px a favor do pássaro
+
+    public final RunConfig config;
+    public final long seed;
+    private final Random rnd = new Random();
+    private double dt;
+
+    // canos que cruzam a faixa x dos pássaros neste frame. A faixa (largada mais a largura do pássaro)
+    // somada à do cano é menor que a distância entre canos, que nascem a pelo menos PIPE_SPACING + PIPE_W
+    // um do outro: cabe no máximo um com as medidas atuais
+    private static final int NEAR_PIPES = (int) ((AIManager.SPAWN_X_SPREAD + BirdPopulation.BIRD_W + PIPE_W) / (PIPE_SPACING + PIPE_W)) + 1;
+    private final PipePair[] nearPipes = new PipePair[NEAR_PIPES];
+    private int nearCount = 0;
+
+    public GameWorld() {
+        this(new Random().nextLong(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public GameWorld(long seed, int threads) {
+        this(seed, threads, Precision.DOUBLE, false);
+    }
+
+    // simd: inferência pelo Vector API quando disponível
+    public GameWorld(long seed, int threads, Precision precision, boolean simd) {
+        this(config(seed, threads, precision, simd));
+    }
+
+    // mesma seed -> mesmos canos, posições iniciais e evolução, com qualquer número de threads.
+    // Tudo que depende do tamanho da população é alocado aqui.
+    public GameWorld(RunConfig config) {
+        config.validate();
+        this.config = config;
+        this.seed = config.seed;
+        workers = new WorkerPool(config.threads);
+        ai = new AIManager(this, seed + 1, config);
+        maxFrames = config.maxFrames;
+        stagnationFrames = config.stagnationFrames;
+        cullDoomed = config.cullDoomed;
+        if (config.courses > 0) {
+            // uma geração inteira de resultados cabe na tabela atual do cache
+            courses = new CourseEvaluator(seed, config.courses, config.population, 2 * config.population * config.courses);
+        }
+        if (config.steadyState) steady = new SteadyState(seed + 2, config, ai.ga.genomes);
+        metrics.reserve(config.population, config.maxFrames);
+    }
+
+    private static RunConfig config(long seed, int threads, Precision precision, boolean simd) {
+        RunConfig c = new RunConfig();
+        c.seed = seed;
+        c.threads = threads;
+        c.precision = precision;
+        c.simd = simd;
+        return c;
+    }
+
+    public void init() {
+        ai.initGeneration();
+        framesAlive = 0;
+        restartPipes();
+    }
+
+    public void restartPipes() {
+        // canos de cada geração dependem só de (seed, geração); com cursos fixos, da seed do curso
+        rnd.setSeed(courses != null ? courses.courseSeed() : GenomeUtils.mix64(seed ^ GenomeUtils.mix64(ai.generation)));
+        resetPipes(pipes, rnd);
+    }
+
+    // pista inicial: 3 canos a partir da borda direita (também usado pelo ChampionPlayer)
+    static void resetPipes(PipeTrack pipes, Random rnd) {
+        pipes.clear();
+        double startX = WINDOW_W + 50;
+        for (int i = 0; i < 3; i++) {
+            spawnPipe(pipes, rnd, startX + i * (PIPE_SPACING + 52));
+        }
+    }
+
+    // spawn + movimento dos canos de um frame
+    static void advancePipes(PipeTrack pipes, Random rnd, double dt) {
+        // Spawn de canos
+        if (pipes.isEmpty() || pipes.last().x < WINDOW_W - (PIPE_SPACING + 52)) {
+            spawnPipe(pipes, rnd, WINDOW_W + 50);
+        }
+
+        // Move canos (saem pela esquerda, sempre o primeiro)
+        for (int i = 0; i < pipes.size(); i++) pipes.get(i).x += PIPE_SPEED * dt;
+        while (!pipes.isEmpty() && pipes.get(0).x + 52 < -100) pipes.removeFirst();
+    }
+
+    // um passo de simulação; devolve true quando a geração terminou
+    public boolean step(double dt) {
+        stepFrame(dt);
+
+        // steady-state: os mortos renascem já neste frame; "geração" = population mortes
+        if (steady != null) {
+            if (!steady.refill(this)) return false;
+            ai.reportSteady(steady);
+            return true;
+        }
+
+        // Reinicia se todos morreram (ou se o episódio foi cortado)
+        if (ai.allDead() || episodeOver()) {
+            if (!ai.allDead()) ai.aliveCount -= workers.forEachChunk(ai.birds.size, this::endChunk);
+            framesAlive = 0;
+            flatFrames = 0;
+            // mais cursos nesta geração: mesmo genomas, próximo curso
+            if (courses != null && !courses.endEpisode(ai)) {
+                ai.initGeneration();
+                restartPipes();
+                return false;
+            }
+            ai.evolveAndRestart();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean episodeOver() {
+        if (maxFrames > 0 && framesAlive >= maxFrames) return true;
+        if (stagnationFrames > 0) {
+            flatFrames = ai.aliveCount == lastAlive ? flatFrames + 1 : 0;
+            lastAlive = ai.aliveCount;
+            return flatFrames >= stagnationFrames;
+        }
+        return false;
+    }
+
+    // fim de episódio cortado: os vivos saem com o fitness deste frame
+    private int endChunk(int chunk, int from, int to) {
+        int dead = 0;
+        for (int i = ai.birds.nextAlive(from); i >= 0 && i < to; i = ai.birds.nextAlive(i + 1)) {
+            if (ai.kill(i)) dead++;
+        }
+        return dead;
+    }
+
+    // só o frame (IA, física, canos, colisões), sem evoluir quando todos morrem
+    public void stepFrame(double dt) {
+        this.dt = dt;
+        framesAlive++;
+
+        long t = System.nanoTime();
+        ai.update(dt);
+        metrics.add(TrainingMetrics.Phase.INFERENCE, t);
+
+        // Atualiza cada pássaro e verifica limites (teto/chão)
+        t = System.nanoTime();
+        ai.aliveCount -= workers.forEachChunk(ai.birds.size, this::physicsChunk);
+        ai.birds.updateAnimation(dt);
+        advancePipes(pipes, rnd, dt);
+        metrics.add(TrainingMetrics.Phase.PHYSICS, t);
+
+        // Colisões: só os canos que cruzam a faixa x da população entram na varredura
+        t = System.nanoTime();
+        collectNearPipes();
+        ai.aliveCount -= workers.forEachChunk(ai.birds.size, this::collisionChunk);
+        if (cullDoomed && ai.aliveCount > 0) {
+            doomPipe = upcomingPipe();
+            if (doomPipe != null) ai.aliveCount -= workers.forEachChunk(ai.birds.size, this::cullChunk);
+        }
+        metrics.add(TrainingMetrics.Phase.COLLISION, t);
+
+        metrics.endFrame(ai.aliveCount);
+    }
+
+    // gravidade + teto/chão para os vivos de [from, to); devolve quantos morreram
+    int physicsChunk(int chunk, int from, int to) {
+        BirdPopulation birds = ai.birds;
+        double[] by = birds.y, bvy = birds.vy;
+        int[] frames = birds.framesAlive;
+        double half = BirdPopulation.BIRD_H / 2.0;
+        double baseTop = WINDOW_H - BASE_H;
+        int dead = 0;
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            bvy[i] += GRAVITY * dt;
+            by[i] += bvy[i] * dt;
+            frames[i]++;
+
+            // Teto
+            if (by[i] - half <= 0) {
+                by[i] = half;
+                if (ai.kill(i)) dead++;
+                continue;
+            }
+
+            // Chão
+            if (by[i] + half >= baseTop) {
+                by[i] = baseTop - half;
+                if (ai.kill(i)) dead++;
+            }
+        }
+        return dead;
+    }
+
+    void collectNearPipes() {
+        double half = BirdPopulation.BIRD_W / 2.0;
+        double left = ai.birds.minX - half, right = ai.birds.maxX + half;
+        nearCount = 0;
+        for (int i = pipes.nextFor(left); i < pipes.size(); i++) {
+            PipePair p = pipes.get(i);
+            if (p.x >= right) break; // ordenados: os próximos estão ainda mais à direita
+            nearPipes[nearCount++] = p;
+        }
+    }
+
+    // pássaros de [from, to) contra os canos próximos; devolve quantos morreram
+    int collisionChunk(int chunk, int from, int to) {
+        if (nearCount == 0) return 0;
+        BirdPopulation birds = ai.birds;
+        int dead = 0;
+        for (int p = 0; p < nearCount; p++) {
+            PipePair pipe = nearPipes[p];
+            for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+                if (pipe.collidesAt(birds.x[i], birds.y[i]) && ai.kill(i)) dead++;
+            }
+        }
+        return dead;
+    }
+
+    // primeiro cano em que nenhum pássaro encostou ainda
+    private PipePair upcomingPipe() {
+        double right = ai.birds.maxX + BirdPopulation.BIRD_W / 2.0;
+        for (int i = pipes.nextFor(right); i < pipes.size(); i++) {
+            if (pipes.get(i).x > right) return pipes.get(i);
+        }
+        return null;
+    }
+
+    // Mata quem não tem como passar pelo vão de doomPipe, faça a rede o que fizer.
+    // No frame k em que o cano encosta no pássaro, y fica entre o de flap em todo frame (o mais alto
+    // possível: vy nunca fica abaixo de FLAP_IMPULSE + GRAVITY*dt) e o de nunca mais bater asa (o mais baixo).
+    // Se esse intervalo todo fica fora do vão (olhando k-1..k+1 e com margem), a colisão é certa.
+    // O morto recebe o fitness do frame da batida (kLo à frente), ou de antes se até o caminho mais
+    // favorável já bate no teto/chão, e nunca passa de maxFrames.
+    int cullChunk(int chunk, int from, int to) {
+        BirdPopulation birds = ai.birds;
+        PipePair p = doomPipe;
+        double halfW = BirdPopulation.BIRD_W / 2.0, halfH = BirdPopulation.BIRD_H / 2.0;
+        double pipeStep = -PIPE_SPEED * dt;              // px que o cano anda por frame
+        double climb = (FLAP_IMPULSE + GRAVITY * dt) * dt; // dy por frame subindo o máximo
+        double fall = GRAVITY * dt * dt / 2.0;
+        double safeTop = p.topY + halfH - DOOM_MARGIN;
+        double safeBottom = p.bottomY - halfH + DOOM_MARGIN;
+        long left = maxFrames > 0 && steady == null ? maxFrames - framesAlive : Long.MAX_VALUE;
+        int dead = 0;
+        for (int i = birds.nextAlive(from); i >= 0 && i < to; i = birds.nextAlive(i + 1)) {
+            double k = Math.floor((p.x - (birds.x[i] + halfW)) / pipeStep) + 1;
+            double kLo = Math.max(1, k - 1), kHi = k + 1;
+            double y = birds.y[i], v = birds.vy[i] * dt;
+            double highest = y + kHi * climb;
+            double lowest = Math.max(y + kLo * v + fall * kLo * (kLo + 1), y + kHi * v + fall * kHi * (kHi + 1));
+            if (lowest < safeTop || highest > safeBottom) {
+                int ahead = lowest < safeTop ? ceilingHit(y, v, fall, halfH, (int) kLo) : floorHit(y, climb, halfH, (int) kLo);
+                if (ai.kill(i, (int) Math.min(ahead, left))) dead++;
+            }
+        }
+        return dead;
+    }
+
+    // primeiro frame j < kLo em que até sem bater asa o pássaro já encosta no teto (senão kLo)
+    private static int ceilingHit(double y, double v, double fall, double halfH, int kLo) {
+        for (int j = 1; j < kLo; j++) {
+            if (y + j * v + fall * j * (j + 1) - halfH <= 0) return j;
+        }
+        return kLo;
+    }
+
+    // primeiro frame j < kLo em que até batendo asa o tempo todo o pássaro já encosta no chão (senão kLo)
+    private static int floorHit(double y, double climb, double halfH, int kLo) {
+        double baseTop = WINDOW_H - BASE_H;
+        for (int j = 1; j < kLo; j++) {
+            if (y + j * climb + halfH >= baseTop) return j;
+        }
+        return kLo;
+    }
+
+    // índice do próximo cano à frente de birdX (ou pipes.size() se nenhum); O(1) pelo PipeTrack
+    public int procurarProximoObstaculo(double birdX) {
+        return pipes.nextFor(birdX);
+    }
+
+    private static void spawnPipe(PipeTrack pipes, Random rnd, double x) {
+        double minY = 80;
+        double maxY = WINDOW_H - 160 - BASE_H;
+        double centerY = minY + rnd.nextDouble() * (maxY - minY);
+        pipes.add(new PipePair(x, centerY, PIPE_GAP));
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.flappybird;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+// Todos os pesos da população num único bloco contíguo: o indivíduo i ocupa
+// [i * stride, (i + 1) * stride), na ordem do genoma. GA, NeuralNetwork (como view)
+// e PopulationInference leem e escrevem aqui, sem cópias intermediárias.
+// get/set sempre em double; set arredonda para a precisão da arena (Precision).
+public abstract class GenomeArena {
+    public final int size;
+    public final int stride;
+    public final Precision precision;
+
+    protected GenomeArena(int size, int stride, Precision precision, boolean offHeap) {
+        if ((long) size * stride > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("arena grande demais: " + size + " x " + stride);
+        }
+        if (offHeap && (long) size * stride * precision.bytesPerWeight > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("arena off-heap limitada a 2 GB: " + size + " x " + stride);
+        }
+        this.size = size;
+        this.stride = stride;
+        this.precision = precision;
+    }
+
+    public static GenomeArena allocate(int size, int stride, boolean offHeap) {
+        return allocate(size, stride, Precision.DOUBLE, offHeap);
+    }
+
+    // offHeap: pesos fora do heap (ByteBuffer direto), não contam para o GC
+    public static GenomeArena allocate(int size, int stride, Precision precision, boolean offHeap) {
+        switch (precision) {
+            case FLOAT:
+                return offHeap ? new DirectFloat(size, stride) : new HeapFloat(size, stride);
+            case FIXED16:
+                return offHeap ? new DirectFixed16(size, stride) : new HeapFixed16(size, stride);
+            default:
+                return offHeap ? new Direct(size, stride) : new Heap(size, stride);
+        }
+    }
+
+    private static ByteBuffer direct(int size, int stride, Precision precision) {
+        return ByteBuffer.allocateDirect(size * stride * precision.bytesPerWeight).order(ByteOrder.nativeOrder());
+    }
+
+    // indivíduos por grupo na arena intercalada (Interleaved); divisível pelas lanes de qualquer vetor de doubles até 512 bits
+    static final int LANES = 8;
+
+    public int offset(int individual) {
+        return individual * stride;
+    }
+
+    // index absoluto: offset(individuo) + peso
+    public abstract double get(int index);
+
+    public abstract void set(int index, double v);
+
+    public abstract void copyIndividual(int src, int dst);
+
+    // mesmos pesos com a disposição que a inferência SIMD lê (Interleaved); outras arenas ficam como estão
+    public GenomeArena interleaved() {
+        if (!(this instanceof Heap) || this instanceof Interleaved) return this;
+        GenomeArena to = new Interleaved(size, stride);
+        for (int i = 0; i < size; i++) copyIndividual(i, to, i);
+        return to;
+    }
+
+    // copia o indivíduo src para o slot dst de outra arena com o mesmo stride
+    public void copyIndividual(int src, GenomeArena to, int dst) {
+        int from = offset(src), into = to.offset(dst);
+        for (int w = 0; w < stride; w++) to.set(into + w, get(from + w));
+    }
+
+    // soma de a[k] * w[offset + k] para k em [0, count), nessa ordem
+    public abstract double dot(int offset, double[] a, int count);
+
+    // hash de 64 bits dos pesos do indivíduo (mesmos pesos -> mesmo hash, em qualquer slot)
+    public long hash(int individual) {
+        int off = offset(individual);
+        long h = 0x9E3779B97F4A7C15L;
+        for (int w = 0; w < stride; w++) {
+            h = GenomeUtils.mix64(h ^ Double.doubleToLongBits(get(off + w)));
+        }
+        return h;
+    }
+
+    // pesos idênticos (confirma um hash igual)
+    public boolean sameWeights(int a, int b) {
+        int oa = offset(a), ob = offset(b);
+        for (int w = 0; w < stride; w++) {
+            if (Double.doubleToLongBits(get(oa + w)) != Double.doubleToLongBits(get(ob + w))) return false;
+        }
+        return true;
+    }
+
+    public long bytes() {
+        return (long) size * stride * precision.bytesPerWeight;
+    }
+
+    // copia em bloco todos os pesos (formato cru da precisão, na ordem de bytes de dst) e avança dst
+    public final void writeTo(ByteBuffer dst) {
+        put(dst.slice().order(dst.order()));
+        dst.position(dst.position() + (int) bytes());
+    }
+
+    // inverso de writeTo: lê em bloco todos os pesos de src e avança src
+    public final void readFrom(ByteBuffer src) {
+        get(src.slice().order(src.order()));
+        src.position(src.position() + (int) bytes());
+    }
+
+    protected abstract void put(ByteBuffer dst);
+
+    protected abstract void get(ByteBuffer src);
+
+    static class Heap extends GenomeArena {
+        final double[] data;
+
+        Heap(int size, int stride) {
+            super(size, stride, Precision.DOUBLE, false);
+            data = new double[size * stride];
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asDoubleBuffer().put(data); }
+
+        @Override protected void get(ByteBuffer src) { src.asDoubleBuffer().get(data); }
+
+        @Override public double get(int index) { return data[index]; }
+
+        @Override public void set(int index, double v) { data[index] = v; }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            System.arraycopy(data, src * stride, data, dst * stride, stride);
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final double[] w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w[offset + k];
+            }
+            return sum;
+        }
+    }
+
+    // Heap com uma cópia dos pesos intercalada em grupos de LANES indivíduos: o peso w dos indivíduos
+    // g * LANES .. g * LANES + LANES - 1 fica contíguo em `lanes`, então VectorInference lê um vetor por
+    // peso sem gather. get/dot/writeTo continuam em `data` (um pássaro sozinho lê poucas linhas de cache);
+    // set, copyIndividual e readFrom atualizam as duas cópias.
+    static final class Interleaved extends Heap {
+        final double[] lanes;
+
+        Interleaved(int size, int stride) {
+            super(size, stride);
+            lanes = new double[(size + LANES - 1) / LANES * LANES * stride];
+        }
+
+        // posição em lanes do peso 0 do indivíduo i (os seguintes a cada LANES)
+        int lane(int individual) {
+            return individual / LANES * stride * LANES + individual % LANES;
+        }
+
+        @Override
+        protected void get(ByteBuffer src) {
+            super.get(src);
+            for (int i = 0; i < size; i++) mirror(i);
+        }
+
+        @Override
+        public void set(int index, double v) {
+            data[index] = v;
+            int i = index / stride;
+            lanes[lane(i) + (index - i * stride) * LANES] = v;
+        }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            super.copyIndividual(src, dst);
+            mirror(dst);
+        }
+
+        private void mirror(int individual) {
+            int from = offset(individual), p = lane(individual);
+            for (int k = 0; k < stride; k++) lanes[p + k * LANES] = data[from + k];
+        }
+    }
+
+    static final class Direct extends GenomeArena {
+        final DoubleBuffer data;
+
+        Direct(int size, int stride) {
+            super(size, stride, Precision.DOUBLE, true);
+            data = direct(size, stride, Precision.DOUBLE).asDoubleBuffer();
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asDoubleBuffer().put(data.duplicate().clear()); }
+
+        @Override
+        protected void get(ByteBuffer src) {
+            data.duplicate().clear().put(src.asDoubleBuffer().limit(data.capacity()));
+        }
+
+        @Override public double get(int index) { return data.get(index); }
+
+        @Override public void set(int index, double v) { data.put(index, v); }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            int s = src * stride, d = dst * stride;
+            for (int k = 0; k < stride; k++) data.put(d + k, data.get(s + k));
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final DoubleBuffer w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w.get(offset + k);
+            }
+            return sum;
+        }
+    }
+
+    static final class HeapFloat extends GenomeArena {
+        final float[] data;
+
+        HeapFloat(int size, int stride) {
+            super(size, stride, Precision.FLOAT, false);
+            data = new float[size * stride];
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asFloatBuffer().put(data); }
+
+        @Override protected void get(ByteBuffer src) { src.asFloatBuffer().get(data); }
+
+        @Override public double get(int index) { return data[index]; }
+
+        @Override public void set(int index, double v) { data[index] = (float) v; }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            System.arraycopy(data, src * stride, data, dst * stride, stride);
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final float[] w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w[offset + k];
+            }
+            return sum;
+        }
+    }
+
+    static final class DirectFloat extends GenomeArena {
+        final FloatBuffer data;
+
+        DirectFloat(int size, int stride) {
+            super(size, stride, Precision.FLOAT, true);
+            data = direct(size, stride, Precision.FLOAT).asFloatBuffer();
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asFloatBuffer().put(data.duplicate().clear()); }
+
+        @Override
+        protected void get(ByteBuffer src) {
+            data.duplicate().clear().put(src.asFloatBuffer().limit(data.capacity()));
+        }
+
+        @Override public double get(int index) { return data.get(index); }
+
+        @Override public void set(int index, double v) { data.put(index, (float) v); }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            int s = src * stride, d = dst * stride;
+            for (int k = 0; k < stride; k++) data.put(d + k, data.get(s + k));
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final FloatBuffer w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w.get(offset + k);
+            }
+            return sum;
+        }
+    }
+
+    // int16 em ponto fixo: soma em unidades inteiras e escala uma vez no final
+    static final class HeapFixed16 extends GenomeArena {
+        final short[] data;
+
+        HeapFixed16(int size, int stride) {
+            super(size, stride, Precision.FIXED16, false);
+            data = new short[size * stride];
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asShortBuffer().put(data); }
+
+        @Override protected void get(ByteBuffer src) { src.asShortBuffer().get(data); }
+
+        @Override public double get(int index) { return data[index] / Precision.FIXED_SCALE; }
+
+        @Override public void set(int index, double v) { data[index] = Precision.toFixed(v); }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            System.arraycopy(data, src * stride, data, dst * stride, stride);
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final short[] w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w[offset + k];
+            }
+            return sum / Precision.FIXED_SCALE;
+        }
+    }
+
+    static final class DirectFixed16 extends GenomeArena {
+        final ShortBuffer data;
+
+        DirectFixed16(int size, int stride) {
+            super(size, stride, Precision.FIXED16, true);
+            data = direct(size, stride, Precision.FIXED16).asShortBuffer();
+        }
+
+        @Override protected void put(ByteBuffer dst) { dst.asShortBuffer().put(data.duplicate().clear()); }
+
+        @Override
+        protected void get(ByteBuffer src) {
+            data.duplicate().clear().put(src.asShortBuffer().limit(data.capacity()));
+        }
+
+        @Override public double get(int index) { return data.get(index) / Precision.FIXED_SCALE; }
+
+        @Override public void set(int index, double v) { data.put(index, Precision.toFixed(v)); }
+
+        @Override
+        public void copyIndividual(int src, int dst) {
+            int s = src * stride, d = dst * stride;
+            for (int k = 0; k < stride; k++) data.put(d + k, data.get(s + k));
+        }
+
+        @Override
+        public double dot(int offset, double[] a, int count) {
+            final ShortBuffer w = data;
+            double sum = 0;
+            for (int k = 0; k < count; k++) {
+                sum += a[k] * w.get(offset + k);
+            }
+            return sum / Precision.FIXED_SCALE;
+        }
+    }
+}
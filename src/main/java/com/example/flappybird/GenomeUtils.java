@@ -1,10 +1,13 @@
 package com.example.flappybird;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 
 public class GenomeUtils {
     private static final Random rnd = new Random();
 
+    private GenomeUtils() {}
+
     // mutation types inspired by C:
     // 0: replace with random value in [-1000,1000]
     // 1: multiply by random [0.5,1.5]
@@ -30,4 +33,54 @@ public class GenomeUtils {
             }
         }
     }
-}
\ No newline at end of file
+
+    // parâmetros das mutações; os padrões são os valores do C (e dão exatamente as mesmas contas)
+    public static final class Mutation {
+        public double rate = 1.0;    // até rate * tamanho do genoma mutações por filho
+        public double range = 1000;  // pesos novos (e iniciais) em [-range, range]
+        public double scale = 0.5;   // multiplica por [1 - scale, 1 + scale]
+        public double step = 10;     // soma um valor em [-step, step]
+
+        public Mutation() {}
+    }
+
+    static final Mutation DEFAULT_MUTATION = new Mutation();
+
+    // mesma mutação, direto no indivíduo da arena e com um gerador próprio do chamador
+    // (um por bloco no GA paralelo)
+    public static void mutate(GenomeArena arena, int individual, SplittableRandom r) {
+        mutate(arena, individual, r, DEFAULT_MUTATION);
+    }
+
+    public static void mutate(GenomeArena arena, int individual, SplittableRandom r, Mutation p) {
+        int len = arena.stride;
+        int base = arena.offset(individual);
+        int mutations = r.nextInt(Math.max(1, (int) Math.round(p.rate * len))) + 1;
+        for (int m = 0; m < mutations; m++) {
+            int tipo = r.nextInt(3);
+            int idx = base + r.nextInt(len);
+            arena.set(idx, mutateWeight(arena.get(idx), tipo, r, p));
+        }
+    }
+
+    // uma mutação do tipo `tipo` sobre o peso w (também usada pelos genomas esparsos)
+    static double mutateWeight(double w, int tipo, SplittableRandom r, Mutation p) {
+        switch (tipo) {
+            case 0:
+                return r.nextDouble()*(2 * p.range) - p.range;
+            case 1:
+                double factor = (r.nextInt(10001)/10000.0) * (2 * p.scale) + (1 - p.scale); // [1-scale, 1+scale]
+                return w * factor;
+            default:
+                double number = (r.nextDouble()*2000.0 - 1000.0)/100.0 * (p.step / 10.0);
+                return w + number;
+        }
+    }
+
+    // mistura de bits (splitmix64) para derivar seeds independentes de (seed, geração, bloco)
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
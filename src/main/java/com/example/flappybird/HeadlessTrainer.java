@@ -0,0 +1,148 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Treino sem janela: passo fixo, roda o mais rápido que a CPU permitir.
+// Uso: java -cp target/classes com.example.flappybird.HeadlessTrainer [geracoes] [dt] [threads] [seed] [DOUBLE|FLOAT|FIXED16] [simd|scalar] [metricas.csv|metricas.json]
+// simd precisa de: java --add-modules jdk.incubator.vector ...
+// Checkpoints: --checkpoint=arquivo [--checkpoint-every=N] grava a cada N gerações;
+// --resume=arquivo continua de onde parou (seed e precisão vêm do checkpoint).
+// --export-champion=arquivo grava a melhor rede do treino (ver ChampionPlayer).
+// Configuração: --config=treino.properties e/ou --chave=valor (ver RunConfig; os posicionais
+// acima são atalhos para dt, threads, seed, precision e simd). Por exemplo --population=20000
+// --hidden-size=8 --elites=10 --mutation-scale=0.25. Episódios: --max-frames=N corta a geração em
+// N frames, --stagnation=N quando os vivos ficam parados por N frames, --cull mata cedo quem a
+// física garante que vai bater. --courses=K avalia cada genoma em K cursos fixos (fitness = média).
+// --decision-interval=k roda a rede a cada k frames (repetindo a ação); --decision-threshold=x
+// também decide antes se as entradas mudarem mais que x ou o cano-alvo mudar.
+// --steady-state troca a barreira de geração por reposição imediata de cada morto (ver SteadyState).
+// --sparse usa redes de topologia variável (SparseGenomes), --codegen compila cada uma em bytecode.
+// Com a mesma seed o fitness de cada geração é idêntico para qualquer número de threads.
+// Métricas: CSV é gravado geração a geração; JSON (com a curva de vivos) no final. Também via JMX.
+public class HeadlessTrainer {
+
+    private HeadlessTrainer() {}
+
+    public static void main(String[] allArgs) throws IOException, InterruptedException {
+        Path checkpointFile = null, resumeFile = null, championFile = null;
+        int checkpointEvery = 10;
+        RunConfig config = new RunConfig();
+        for (String a : allArgs) {
+            if (a.startsWith("--config=")) config = RunConfig.load(Paths.get(a.substring("--config=".length())));
+        }
+        List<String> positional = new ArrayList<>();
+        for (String a : allArgs) {
+            if (a.startsWith("--config=")) continue;
+            if (a.startsWith("--checkpoint=")) checkpointFile = Paths.get(a.substring("--checkpoint=".length()));
+            else if (a.startsWith("--checkpoint-every=")) checkpointEvery = Integer.parseInt(a.substring("--checkpoint-every=".length()));
+            else if (a.startsWith("--resume=")) resumeFile = Paths.get(a.substring("--resume=".length()));
+            else if (a.startsWith("--export-champion=")) championFile = Paths.get(a.substring("--export-champion=".length()));
+            else if (!config.override(a)) positional.add(a);
+        }
+        String[] args = positional.toArray(new String[0]);
+
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        if (args.length > 1) config.dt = Double.parseDouble(args[1]);
+        if (args.length > 2) config.threads = Integer.parseInt(args[2]);
+        if (args.length > 3) config.seed = Long.parseLong(args[3]);
+        if (args.length > 4) config.precision = Precision.valueOf(args[4]);
+        if (args.length > 5) config.simd = args[5].equals("simd");
+        Path metricsFile = args.length > 6 ? Paths.get(args[6]) : null;
+        Checkpoint.Header resumed = resumeFile != null ? Checkpoint.readHeader(resumeFile) : null;
+        if (resumed != null) {
+            // o que define os genomas vem do checkpoint
+            config.seed = resumed.seed;
+            config.precision = resumed.precision;
+            config.population = resumed.popSize;
+            config.hiddenLayers = resumed.hiddenLayers;
+            config.hiddenSize = resumed.hiddenSize;
+        }
+        if (config.steadyState && (checkpointFile != null || resumeFile != null)) {
+            throw new IllegalArgumentException("checkpoints não guardam os pássaros em voo do steady-state");
+        }
+        if (config.sparse && (checkpointFile != null || resumeFile != null || championFile != null)) {
+            throw new IllegalArgumentException("checkpoint e campeão só guardam redes densas (sem --sparse)");
+        }
+        double dt = config.dt;
+        long seed = config.seed;
+
+        GameWorld world = new GameWorld(config);
+        System.out.println("Configuração: " + config);
+        System.out.println("Inferência: " + world.ai.brains.backend());
+        world.metrics.registerMBean();
+        if (metricsFile != null && !metricsFile.toString().endsWith(".json")) world.metrics.streamCsv(metricsFile);
+        world.init();
+        if (resumed != null) {
+            Checkpoint.resume(world, resumeFile);
+            System.out.println("Retomado de " + resumeFile + " na geração " + world.ai.generation);
+        }
+        if (checkpointFile != null) world.checkpointer = new Checkpointer(checkpointFile, checkpointEvery);
+
+        long start = System.nanoTime();
+        long frames = 0;
+        int done = 0;
+        while (done < generations) {
+            frames++;
+            if (world.step(dt)) done++;
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d gerações, %d frames em %.2fs -> %.3f gerações/s, %.0f frames/s%n",
+                done, frames, secs, done / secs, frames / secs);
+        System.out.println("Melhor fitness: " + (long) world.ai.bestFitness + " (seed " + seed + ", " + config.threads + " threads, " + config.precision + ")");
+
+        // onde foi o tempo
+        double[] phaseMs = new double[TrainingMetrics.Phase.values().length];
+        for (TrainingMetrics.GenerationStats s : world.metrics.history()) {
+            for (TrainingMetrics.Phase p : TrainingMetrics.Phase.values()) phaseMs[p.ordinal()] += s.phaseMillis(p);
+        }
+        StringBuilder phases = new StringBuilder("Tempo por fase:");
+        for (TrainingMetrics.Phase p : TrainingMetrics.Phase.values()) {
+            phases.append(String.format(" %s %.0fms", p.name().toLowerCase(), phaseMs[p.ordinal()]));
+        }
+        System.out.println(phases);
+        if (world.ai.throttle != null) {
+            long decisions = 0, birdFrames = 0;
+            for (TrainingMetrics.GenerationStats st : world.metrics.history()) {
+                decisions += st.decisions;
+                birdFrames += st.birdFrames;
+            }
+            System.out.printf("Decisões: %d redes em %d pássaros-frame (%.1f%%)%n", decisions, birdFrames,
+                    birdFrames == 0 ? 0 : 100.0 * decisions / birdFrames);
+        }
+        if (world.steady != null) {
+            System.out.printf("Steady-state: %d avaliações (mortos repostos), %.0f avaliações/s%n", world.steady.births,
+                    world.steady.births / secs);
+        }
+        if (world.ai.sparse != null) {
+            SparseGA sparse = world.ai.sparse;
+            long nodes = 0, conns = 0, hidden = 0, evaluated = 0;
+            int n = sparse.size();
+            for (int i = 0; i < n; i++) {
+                hidden += sparse.sparse.hiddenCount(i);
+                conns += sparse.sparse.connectionCount(i);
+                nodes += sparse.programs.hiddenNodes(i);
+                evaluated += sparse.programs.connections(i);
+            }
+            System.out.printf("Redes sparse: %.1f escondidos e %.1f conexões por genoma (%.1f e %.1f no programa)%n",
+                    (double) hidden / n, (double) conns / n, (double) nodes / n, (double) evaluated / n);
+        }
+        if (world.courses != null) {
+            FitnessCache cache = world.courses.cache;
+            System.out.printf("%d cursos; cache: %d acertos, %d avaliações; %d cópias repetidas não jogadas%n",
+                    world.courses.courses, cache.hits, cache.misses, world.courses.duplicates);
+        }
+
+        if (metricsFile != null && metricsFile.toString().endsWith(".json")) world.metrics.exportJson(metricsFile);
+        if (championFile != null && world.ai.champion != null) {
+            world.ai.champion.save(championFile);
+            System.out.println("Campeão (geração " + world.ai.champion.generation + ") exportado para " + championFile);
+        }
+        if (world.checkpointer != null) world.checkpointer.close();
+        world.workers.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Uma população do modelo de ilhas. A cada `interval` gerações manda os k melhores para a próxima
+// ilha do anel (antes do evolve) e, depois do evolve, espera o lote da anterior e coloca os genomas
+// recebidos no lugar de indivíduos não-elite (do fim da população para o começo).
+// Como o lote de cada migração é sempre o da mesma geração, o resultado não depende de qual ilha
+// anda mais rápido: mesma seed -> mesmas gerações em todas as ilhas.
+public class Island {
+    public final int id;
+    public final GameWorld world;
+    public int received; // genomas recebidos até agora
+
+    private final MigrationTransport transport;
+    private final int interval;
+    private final int migrants;
+
+    public Island(int id, GameWorld world, MigrationTransport transport, int interval, int migrants) {
+        this.id = id;
+        this.world = world;
+        this.transport = transport;
+        this.interval = Math.max(1, interval);
+        this.migrants = migrants;
+        world.island = this;
+    }
+
+    private boolean migrates(AIManager ai) {
+        return migrants > 0 && ai.generation % interval == 0;
+    }
+
+    // fim da geração, fitness ainda valendo
+    void emigrate(AIManager ai) {
+        if (!migrates(ai)) return;
+        try {
+            transport.send(Migrants.best(id, ai.generation, ai.ga, migrants));
+        } catch (IOException e) {
+            throw new UncheckedIOException("ilha " + id + ": falha ao enviar migrantes", e);
+        }
+    }
+
+    // depois do evolve: os recebidos entram na próxima geração
+    void immigrate(AIManager ai) {
+        if (!migrates(ai)) return;
+        Migrants batch;
+        try {
+            batch = transport.receive();
+        } catch (IOException e) {
+            throw new UncheckedIOException("ilha " + id + ": falha ao receber migrantes", e);
+        } catch (InterruptedException e) {
+            // seguir sem o lote mudaria o resultado (e a vizinha esperaria o nosso para sempre): aborta a ilha
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ilha " + id + " interrompida esperando migrantes", e);
+        }
+        GA ga = ai.ga;
+        GenomeArena arena = ga.genomes;
+        if (batch.stride != arena.stride) throw new IllegalStateException("ilha " + batch.source + " tem outra topologia");
+        if (batch.generation != ai.generation) {
+            throw new IllegalStateException("ilha " + id + " na geração " + ai.generation
+                    + " recebeu migrantes da geração " + batch.generation);
+        }
+
+        int slot = ga.size() - 1;
+        for (int m = 0; m < batch.count(); m++) {
+            while (slot >= 0 && ga.isEliteSlot(slot)) slot--;
+            if (slot < 0) break;
+            int off = arena.offset(slot);
+            for (int w = 0; w < arena.stride; w++) arena.set(off + w, batch.weights[m * batch.stride + w]);
+            slot--;
+            received++;
+        }
+    }
+
+    public void close() throws IOException {
+        transport.close();
+    }
+}
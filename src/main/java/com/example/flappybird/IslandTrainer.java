@@ -0,0 +1,113 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Treino com modelo de ilhas: várias populações independentes que trocam os melhores genomas
+// em anel a cada `intervalo` gerações.
+// Uso (todas as ilhas neste processo, uma thread cada):
+//   java -cp target/classes com.example.flappybird.IslandTrainer local [ilhas] [geracoes] [seed] [intervalo] [migrantes] [threads por ilha]
+// Uso (uma ilha por processo; a ilha i escuta em portaBase+i e manda para portaBase+i+1):
+//   java -cp target/classes com.example.flappybird.IslandTrainer socket [ilhas] [geracoes] [seed] [intervalo] [migrantes] [threads] [id] [portaBase] [host da próxima]
+// Configuração de cada ilha: --config=treino.properties e/ou --chave=valor (ver RunConfig), como no
+// HeadlessTrainer; seed e threads posicionais têm prioridade e threads é 1 por ilha se ninguém disser outra coisa.
+public class IslandTrainer {
+
+    private IslandTrainer() {}
+
+    public static void main(String[] allArgs) throws Exception {
+        List<String> positional = new ArrayList<>();
+        RunConfig config = config(allArgs, positional);
+        String[] args = positional.toArray(new String[0]);
+        String mode = args.length > 0 ? args[0] : "local";
+        int islands = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int generations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : config.seed;
+        int interval = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+        int migrants = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : config.threads;
+        if (config.sparse || config.steadyState) {
+            throw new IllegalArgumentException("ilhas trocam genomas densos a cada geração: sem sparse nem steady-state");
+        }
+
+        long start = System.nanoTime();
+        if (mode.equals("socket")) {
+            int id = Integer.parseInt(args[7]);
+            int basePort = args.length > 8 ? Integer.parseInt(args[8]) : 47000;
+            String nextHost = args.length > 9 ? args[9] : "localhost";
+            SocketTransport transport = new SocketTransport(basePort + id, nextHost, basePort + (id + 1) % islands);
+            Island island = new Island(id, world(allArgs, seed, threads, id), transport, interval, migrants);
+            try {
+                train(island, generations);
+            } finally {
+                island.close(); // a vizinha que espera nosso lote recebe EOF e aborta também
+            }
+            report(island);
+        } else {
+            LocalTransport[] ring = LocalTransport.ring(islands);
+            Island[] all = new Island[islands];
+            Thread[] workers = new Thread[islands];
+            // a primeira ilha que cai interrompe as outras, que parariam no receive esperando o lote dela
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            for (int i = 0; i < islands; i++) {
+                Island island = all[i] = new Island(i, world(allArgs, seed, threads, i), ring[i], interval, migrants);
+                workers[i] = new Thread(() -> train(island, generations), "island-" + i);
+                workers[i].setUncaughtExceptionHandler((thread, e) -> {
+                    if (!failure.compareAndSet(null, e)) return;
+                    for (Thread other : workers) if (other != thread) other.interrupt();
+                });
+            }
+            for (Thread t : workers) t.start();
+            for (Thread t : workers) t.join();
+            if (failure.get() != null) throw new IllegalStateException("treino das ilhas abortado", failure.get());
+            for (Island island : all) report(island);
+        }
+        System.out.printf("%d gerações por ilha em %.2fs (seed %d)%n", generations, (System.nanoTime() - start) / 1e9, seed);
+    }
+
+    // RunConfig das opções (cada ilha lê a sua); o que não é opção vai para positional
+    private static RunConfig config(String[] allArgs, List<String> positional) throws IOException {
+        RunConfig config = new RunConfig();
+        config.threads = 1;
+        for (String a : allArgs) {
+            if (a.startsWith("--config=")) config = RunConfig.load(Paths.get(a.substring("--config=".length())), config);
+        }
+        for (String a : allArgs) {
+            if (!a.startsWith("--config=") && !config.override(a)) positional.add(a);
+        }
+        return config;
+    }
+
+    private static GameWorld world(String[] allArgs, long seed, int threads, int id) throws IOException {
+        RunConfig config = config(allArgs, new ArrayList<>());
+        config.seed = islandSeed(seed, id);
+        config.threads = threads;
+        return new GameWorld(config);
+    }
+
+    // seeds diferentes por ilha (cursos e populações iniciais diferentes), derivadas da seed do treino
+    static long islandSeed(long seed, int id) {
+        return GenomeUtils.mix64(seed + id);
+    }
+
+    static void train(Island island, int generations) {
+        GameWorld world = island.world;
+        world.init();
+        int done = 0;
+        try {
+            while (done < generations) {
+                if (world.step(SimulationThread.DT)) done++;
+            }
+        } finally {
+            world.workers.shutdown();
+        }
+    }
+
+    static void report(Island island) throws IOException {
+        System.out.println("Ilha " + island.id + ": melhor fitness " + (long) island.world.ai.bestFitness
+                + ", " + island.received + " genomas recebidos");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.flappybird;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Ilhas como threads do mesmo processo: uma fila por ilha, o lote passa por referência.
+public class LocalTransport implements MigrationTransport {
+    private final BlockingQueue<Migrants> inbox;
+    private final BlockingQueue<Migrants> next;
+
+    private LocalTransport(BlockingQueue<Migrants> inbox, BlockingQueue<Migrants> next) {
+        this.inbox = inbox;
+        this.next = next;
+    }
+
+    // n pontas ligadas em anel: a ilha i manda para a i+1
+    public static LocalTransport[] ring(int n) {
+        List<BlockingQueue<Migrants>> queues = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) queues.add(new LinkedBlockingQueue<>());
+        LocalTransport[] ends = new LocalTransport[n];
+        for (int i = 0; i < n; i++) ends[i] = new LocalTransport(queues.get(i), queues.get((i + 1) % n));
+        return ends;
+    }
+
+    @Override
+    public void send(Migrants batch) {
+        next.add(batch);
+    }
+
+    @Override
+    public Migrants receive() throws InterruptedException {
+        return inbox.take();
+    }
+}
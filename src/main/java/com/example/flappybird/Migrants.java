@@ -0,0 +1,64 @@
+package com.example.flappybird;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Lote de genomas que uma ilha manda para a vizinha: os k melhores de uma geração.
+// Pesos sempre em double (independe da precisão de cada ilha; quem recebe arredonda para a sua).
+public final class Migrants {
+    public final int source;
+    public final int generation;
+    public final int stride;
+    public final double[] fitness; // um por genoma
+    public final double[] weights; // fitness.length * stride, genoma a genoma
+
+    public Migrants(int source, int generation, int stride, double[] fitness, double[] weights) {
+        if (weights.length != fitness.length * stride) throw new IllegalArgumentException("pesos não batem com o stride");
+        this.source = source;
+        this.generation = generation;
+        this.stride = stride;
+        this.fitness = fitness;
+        this.weights = weights;
+    }
+
+    public int count() {
+        return fitness.length;
+    }
+
+    // os k melhores da geração atual do GA (chamar antes do evolve, com o fitness ainda valendo)
+    static Migrants best(int source, int generation, GA ga, int k) {
+        GenomeArena arena = ga.genomes;
+        int[] top = ga.best(k);
+        double[] fitness = new double[top.length];
+        double[] weights = new double[top.length * arena.stride];
+        for (int m = 0; m < top.length; m++) {
+            fitness[m] = ga.fitness[top[m]];
+            int off = arena.offset(top[m]);
+            for (int w = 0; w < arena.stride; w++) weights[m * arena.stride + w] = arena.get(off + w);
+        }
+        return new Migrants(source, generation, arena.stride, fitness, weights);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(source);
+        out.writeInt(generation);
+        out.writeInt(stride);
+        out.writeInt(fitness.length);
+        for (double f : fitness) out.writeDouble(f);
+        for (double w : weights) out.writeDouble(w);
+        out.flush();
+    }
+
+    static Migrants read(DataInputStream in) throws IOException {
+        int source = in.readInt();
+        int generation = in.readInt();
+        int stride = in.readInt();
+        int count = in.readInt();
+        double[] fitness = new double[count];
+        double[] weights = new double[count * stride];
+        for (int i = 0; i < fitness.length; i++) fitness[i] = in.readDouble();
+        for (int i = 0; i < weights.length; i++) weights[i] = in.readDouble();
+        return new Migrants(source, generation, stride, fitness, weights);
+    }
+}
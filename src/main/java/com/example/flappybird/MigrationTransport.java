@@ -0,0 +1,16 @@
+package com.example.flappybird;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Canal entre uma ilha e suas vizinhas no anel: send vai para a próxima, receive vem da anterior.
+// Entrega em ordem (um lote por migração), então cada ilha recebe sempre o lote da mesma geração.
+public interface MigrationTransport extends Closeable {
+    void send(Migrants batch) throws IOException;
+
+    // bloqueia até chegar o próximo lote
+    Migrants receive() throws IOException, InterruptedException;
+
+    @Override
+    default void close() throws IOException {}
+}
@@ -1,6 +1,5 @@
 package com.example.flappybird;
 
-import java.util.Arrays;
 import java.util.Random;
 
 public class NeuralNetwork {
@@ -9,42 +8,48 @@ public class NeuralNetwork {
     private int hiddenSize;   // por camada (assumimos todas iguais como no C)
     private int outputCount;
 
-    // estruturas: pesos por camada (matriz: neurons x inputs)
-    // camadas escondidas: hiddenLayers arrays
-    public double[][][] weightsHidden; // [layer][neuron][weightIndex]
-    public double[][] weightsOut;      // [neuronOut][weightIndex]
+    // a rede é só uma view sobre a fatia [offset, offset + totalWeights()) da arena.
+    // Ordem dos pesos (igual ao C): camadas escondidas layer by layer, neurônio a neurônio
+    // (bias por último), depois a camada de saída.
+    private final GenomeArena arena;
+    private final int offset;
 
     private static final Random rnd = new Random();
 
     public NeuralNetwork(int hiddenLayers, int inputCount, int hiddenSize, int outputCount) {
+        this(hiddenLayers, inputCount, hiddenSize, outputCount, rnd);
+    }
+
+    // rede avulsa (arena própria de 1 indivíduo) com pesos iniciais tirados de `random`
+    public NeuralNetwork(int hiddenLayers, int inputCount, int hiddenSize, int outputCount, Random random) {
+        this(hiddenLayers, inputCount, hiddenSize, outputCount,
+                GenomeArena.allocate(1, weightCount(hiddenLayers, inputCount, hiddenSize, outputCount), false), 0);
+        for (int i = 0; i < arena.stride; i++) {
+            arena.set(i, random.nextDouble() * 2000 - 1000); // similar ao C
+        }
+    }
+
+    // view sobre o indivíduo `individual` da arena (sem copiar pesos)
+    public NeuralNetwork(int hiddenLayers, int inputCount, int hiddenSize, int outputCount, GenomeArena arena, int individual) {
         this.hiddenLayers = hiddenLayers;
         this.inputCount = inputCount;
         this.hiddenSize = hiddenSize;
         this.outputCount = outputCount;
+        this.arena = arena;
+        this.offset = arena.offset(individual);
+    }
 
-        // cria arrays, lembrando de adicionar BIAS internamente: cada camada de entrada espera +1 bias
-        weightsHidden = new double[hiddenLayers][][];
+    // tamanho do genoma para a topologia (DNA length)
+    public static int weightCount(int hiddenLayers, int inputCount, int hiddenSize, int outputCount) {
+        int sum = 0;
         for (int L = 0; L < hiddenLayers; L++) {
-            int inCount = (L == 0) ? inputCount + 1 : hiddenSize + 1; // +1 para bias
-            weightsHidden[L] = new double[hiddenSize][inCount];
-            for (int i = 0; i < hiddenSize; i++) {
-                for (int j = 0; j < inCount; j++) {
-                    weightsHidden[L][i][j] = rnd.nextDouble() * 2000 - 1000; // similar ao C
-                }
-            }
-        }
-        // saída: cada neuron de saída ligado aos neurônios ocultos + bias
-        int outInCount = hiddenSize + 1;
-        weightsOut = new double[outputCount][outInCount];
-        for (int i = 0; i < outputCount; i++) {
-            for (int j = 0; j < outInCount; j++) {
-                weightsOut[i][j] = rnd.nextDouble() * 2000 - 1000;
-            }
+            sum += hiddenSize * (L == 0 ? inputCount + 1 : hiddenSize + 1);
         }
+        return sum + outputCount * (hiddenSize + 1);
     }
 
     // ReLU (igual ao C)
-    private double relu(double x) {
+    static double relu(double x) {
         if (x < 0) return 0;
         if (x < 10000) return x;
         return 10000;
@@ -58,16 +63,13 @@ public class NeuralNetwork {
         System.arraycopy(input, 0, prevOutputs, 0, inputCount);
         prevOutputs[inputCount] = 1.0; // bias
 
+        int wi = offset;
         // camadas escondidas
         for (int L = 0; L < hiddenLayers; L++) {
             double[] outLayer = new double[hiddenSize + 1]; // + bias
             for (int n = 0; n < hiddenSize; n++) {
-                double sum = 0;
-                double[] w = weightsHidden[L][n];
-                for (int k = 0; k < w.length; k++) {
-                    sum += prevOutputs[k] * w[k];
-                }
-                outLayer[n] = relu(sum);
+                outLayer[n] = relu(arena.dot(wi, prevOutputs, prevOutputs.length));
+                wi += prevOutputs.length;
             }
             outLayer[hiddenSize] = 1.0; // bias
             prevOutputs = outLayer;
@@ -76,74 +78,45 @@ public class NeuralNetwork {
         // saída
         double[] outputs = new double[outputCount];
         for (int o = 0; o < outputCount; o++) {
-            double sum = 0;
-            for (int k = 0; k < weightsOut[o].length; k++) {
-                sum += prevOutputs[k] * weightsOut[o][k];
-            }
-            outputs[o] = sigmoid(sum);
+            outputs[o] = sigmoid(arena.dot(wi, prevOutputs, prevOutputs.length));
+            wi += prevOutputs.length;
         }
         return outputs;
     }
 
-    private double sigmoid(double x) {
+    static double sigmoid(double x) {
         // prevenção overflow leve
         if (x < -60) return 0.0;
         if (x > 60) return 1.0;
         return 1.0 / (1.0 + Math.exp(-x));
     }
 
+    int hiddenLayers() { return hiddenLayers; }
+
+    int hiddenSize() { return hiddenSize; }
+
     // tamanho total dos pesos (DNA length)
     public int totalWeights() {
-        int sum = 0;
-        for (int L = 0; L < hiddenLayers; L++) {
-            sum += hiddenSize * ( (L==0 ? inputCount+1 : hiddenSize+1) );
-        }
-        sum += outputCount * (hiddenSize + 1);
-        return sum;
+        return arena.stride;
     }
 
-    // converter para vetor (flat) - mesma ordem do C: todas camadas escondidas (layer by layer), depois saída
+    // converter para vetor (flat) - cópia dos pesos, mesma ordem do C
     public double[] toGenome() {
-        int len = totalWeights();
-        double[] genome = new double[len];
-        int idx = 0;
-        for (int L = 0; L < hiddenLayers; L++) {
-            for (int n = 0; n < hiddenSize; n++) {
-                for (int w = 0; w < weightsHidden[L][n].length; w++) {
-                    genome[idx++] = weightsHidden[L][n][w];
-                }
-            }
-        }
-        for (int o = 0; o < outputCount; o++) {
-            for (int w = 0; w < weightsOut[o].length; w++) {
-                genome[idx++] = weightsOut[o][w];
-            }
-        }
+        double[] genome = new double[arena.stride];
+        for (int i = 0; i < genome.length; i++) genome[i] = arena.get(offset + i);
         return genome;
     }
 
     // aplicar genome (copiar vetor para pesos)
     public void fromGenome(double[] genome) {
-        int idx = 0;
-        for (int L = 0; L < hiddenLayers; L++) {
-            for (int n = 0; n < hiddenSize; n++) {
-                for (int w = 0; w < weightsHidden[L][n].length; w++) {
-                    weightsHidden[L][n][w] = genome[idx++];
-                }
-            }
-        }
-        for (int o = 0; o < outputCount; o++) {
-            for (int w = 0; w < weightsOut[o].length; w++) {
-                weightsOut[o][w] = genome[idx++];
-            }
-        }
+        for (int i = 0; i < arena.stride; i++) arena.set(offset + i, genome[i]);
     }
 
-    // criar rede clonada (pesos copiados)
+    // criar rede clonada (pesos copiados para uma arena própria)
     public NeuralNetwork cloneNetwork() {
-        NeuralNetwork n = new NeuralNetwork(hiddenLayers, inputCount, hiddenSize, outputCount);
-        n.fromGenome(this.toGenome());
+        NeuralNetwork n = new NeuralNetwork(hiddenLayers, inputCount, hiddenSize, outputCount,
+                GenomeArena.allocate(1, arena.stride, false), 0);
+        n.fromGenome(toGenome());
         return n;
     }
 }
-
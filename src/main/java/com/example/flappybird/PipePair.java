@@ -0,0 +1,58 @@
+package com.example.flappybird;
+
+// Par de canos (superior + inferior); dimensões fixas iguais ao sprite pipe-green.png
+public class PipePair {
+    double x;
+    double centerY;
+    double gap;
+    double topY;
+    double bottomY;
+    int serial; // ordem de chegada na PipeTrack (identifica o cano-alvo no DecisionThrottle)
+
+    PipePair(double x, double centerY, double gap) {
+        this.x = x;
+        this.centerY = centerY;
+        this.gap = gap;
+        computeYs();
+    }
+
+    void computeYs() {
+        double halfGap = gap / 2.0;
+        topY = centerY - halfGap;
+        bottomY = centerY + halfGap;
+    }
+
+    boolean collidesWith(Bird b) {
+        return collides(b.left(), b.top(), b.w, b.h);
+    }
+
+    // versão para a população SoA: (cx, cy) é o centro do pássaro
+    boolean collidesAt(double cx, double cy) {
+        return collides(cx - BirdPopulation.BIRD_W / 2.0, cy - BirdPopulation.BIRD_H / 2.0,
+                BirdPopulation.BIRD_W, BirdPopulation.BIRD_H);
+    }
+
+    boolean collides(double bx, double by, double bw, double bh) {
+        double pipeW = GameWorld.PIPE_W;
+        double pipeH = GameWorld.PIPE_H;
+
+        double topRectX = x;
+        double topRectY = topY - pipeH;
+        double topRectW = pipeW;
+        double topRectH = pipeH;
+
+        double botRectX = x;
+        double botRectY = bottomY;
+        double botRectW = pipeW;
+        double botRectH = pipeH;
+
+        if (rectOverlap(bx, by, bw, bh, topRectX, topRectY, topRectW, topRectH)) return true;
+        if (rectOverlap(bx, by, bw, bh, botRectX, botRectY, botRectW, botRectH)) return true;
+        return false;
+    }
+
+    private static boolean rectOverlap(double x1, double y1, double w1, double h1,
+                                       double x2, double y2, double w2, double h2) {
+        return !(x1 + w1 <= x2 || x1 >= x2 + w2 || y1 + h1 <= y2 || y1 >= y2 + h2);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.flappybird;
+
+// Canos ativos num ring buffer ordenado por x (entram sempre pela direita e saem pela esquerda,
+// todos andam na mesma velocidade, então a ordem nunca muda). get(0) é o mais à esquerda.
+public class PipeTrack {
+    private PipePair[] ring = new PipePair[8]; // potência de 2
+    private int head = 0;
+    private int count = 0;
+    private int added = 0;
+
+    public PipeTrack() {}
+
+    public int size() { return count; }
+
+    public boolean isEmpty() { return count == 0; }
+
+    public PipePair get(int i) {
+        return ring[(head + i) & (ring.length - 1)];
+    }
+
+    public PipePair last() {
+        return get(count - 1);
+    }
+
+    // novo cano na direita (x >= último)
+    public void add(PipePair p) {
+        if (count == ring.length) grow();
+        ring[(head + count) & (ring.length - 1)] = p;
+        p.serial = added++;
+        count++;
+    }
+
+    public void removeFirst() {
+        ring[head] = null;
+        head = (head + 1) & (ring.length - 1);
+        count--;
+    }
+
+    public void clear() {
+        while (count > 0) removeFirst();
+        head = 0;
+    }
+
+    // índice do primeiro cano cuja borda direita ainda não passou de x (ou size() se nenhum).
+    // Como a lista é ordenada, só pula os canos já ultrapassados: na prática 1 ou 2 testes.
+    public int nextFor(double x) {
+        int i = 0;
+        while (i < count && get(i).x + GameWorld.PIPE_W < x) i++;
+        return i;
+    }
+
+    private void grow() {
+        PipePair[] bigger = new PipePair[ring.length * 2];
+        for (int i = 0; i < count; i++) bigger[i] = get(i);
+        ring = bigger;
+        head = 0;
+    }
+}
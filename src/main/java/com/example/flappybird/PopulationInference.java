@@ -0,0 +1,125 @@
+package com.example.flappybird;
+
+// Inferência em lote de toda a população sobre buffers planos e contíguos.
+// Pesos: lidos direto da GenomeArena do GA (um bloco de `stride` por indivíduo, ordem do genoma).
+// Entradas/saídas: inputCount/outputCount doubles por indivíduo. Nada é alocado por frame.
+public class PopulationInference {
+    public final int size;
+    public final int hiddenLayers;
+    public final int inputCount;
+    public final int hiddenSize;
+    public final int outputCount;
+
+    public final GenomeArena weights;
+    public final Activation activation;
+    public final double[] inputs;  // [indivíduo * inputCount + entrada]
+    public final double[] outputs; // [indivíduo * outputCount + saída]
+
+    // ativações reaproveitadas (camada anterior / camada atual), com bias no final;
+    // um par por bloco do WorkerPool para os blocos rodarem em paralelo sem alocar
+    private final double[][] scratch;
+
+    public PopulationInference(GenomeArena weights, int hiddenLayers, int inputCount, int hiddenSize, int outputCount) {
+        this(weights, hiddenLayers, inputCount, hiddenSize, outputCount, Activation.EXACT);
+    }
+
+    public PopulationInference(GenomeArena weights, int hiddenLayers, int inputCount, int hiddenSize, int outputCount,
+                               Activation activation) {
+        if (weights.stride != NeuralNetwork.weightCount(hiddenLayers, inputCount, hiddenSize, outputCount)) {
+            throw new IllegalArgumentException("stride da arena não bate com a topologia");
+        }
+        this.size = weights.size;
+        this.hiddenLayers = hiddenLayers;
+        this.inputCount = inputCount;
+        this.hiddenSize = hiddenSize;
+        this.outputCount = outputCount;
+        this.weights = weights;
+        this.activation = activation;
+        inputs = new double[size * inputCount];
+        outputs = new double[size * outputCount];
+        int width = Math.max(inputCount, hiddenSize) + 1;
+        scratch = new double[WorkerPool.chunkCount(size) * 2][width];
+    }
+
+    // para redes fora da arena (SparseInference): só os buffers de entrada/saída, computeMarked é dela
+    PopulationInference(int size, int inputCount, int outputCount, Activation activation) {
+        this.size = size;
+        this.hiddenLayers = 0;
+        this.inputCount = inputCount;
+        this.hiddenSize = 0;
+        this.outputCount = outputCount;
+        this.weights = null;
+        this.activation = activation;
+        inputs = new double[size * inputCount];
+        outputs = new double[size * outputCount];
+        scratch = null;
+    }
+
+    public static PopulationInference create(GenomeArena weights, int hiddenLayers, int inputCount,
+                                             int hiddenSize, int outputCount, boolean simd) {
+        return create(weights, hiddenLayers, inputCount, hiddenSize, outputCount, simd, Activation.EXACT);
+    }
+
+    // simd: tenta o backend do Vector API (precisa de --add-modules jdk.incubator.vector, arena
+    // intercalada, ver GenomeArena.interleaved, e ativação sem tabela); sem ele, volta para o escalar
+    public static PopulationInference create(GenomeArena weights, int hiddenLayers, int inputCount,
+                                             int hiddenSize, int outputCount, boolean simd, Activation activation) {
+        if (simd && weights instanceof GenomeArena.Interleaved && activation != Activation.LUT) {
+            try {
+                return (PopulationInference) Class.forName("com.example.flappybird.VectorInference")
+                        .getDeclaredConstructor(GenomeArena.class, int.class, int.class, int.class, int.class, Activation.class)
+                        .newInstance(weights, hiddenLayers, inputCount, hiddenSize, outputCount, activation);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector API indisponível (" + e + "), usando inferência escalar");
+            }
+        }
+        return new PopulationInference(weights, hiddenLayers, inputCount, hiddenSize, outputCount, activation);
+    }
+
+    public String backend() {
+        return "scalar, " + activation.name().toLowerCase();
+    }
+
+    // avalia os vivos de [from, to) do bloco `chunk`; entradas dos vivos já devem estar preenchidas
+    public void computeAlive(BirdPopulation birds, int chunk, int from, int to) {
+        computeMarked(birds.aliveWords(), chunk, from, to);
+    }
+
+    // avalia só os marcados em `bits` (bitset por índice, ver DecisionThrottle) de [from, to)
+    public void computeMarked(long[] bits, int chunk, int from, int to) {
+        double[] a = scratch[chunk * 2], b = scratch[chunk * 2 + 1];
+        for (int i = BirdPopulation.nextSet(bits, size, from); i >= 0 && i < to; i = BirdPopulation.nextSet(bits, size, i + 1)) {
+            compute(i, a, b);
+        }
+    }
+
+    // feedforward do indivíduo i; a/b são buffers de ativação com pelo menos max(in, hidden)+1 posições.
+    // Mesma ordem de soma do NeuralNetwork.compute, então o resultado é idêntico.
+    void compute(int i, double[] a, double[] b) {
+        final GenomeArena w = weights;
+        final Activation f = activation;
+        int wi = w.offset(i);
+
+        System.arraycopy(inputs, i * inputCount, a, 0, inputCount);
+        a[inputCount] = 1.0; // bias
+        int prevCount = inputCount + 1;
+
+        // camadas escondidas
+        for (int L = 0; L < hiddenLayers; L++) {
+            for (int n = 0; n < hiddenSize; n++) {
+                b[n] = f.relu(w.dot(wi, a, prevCount));
+                wi += prevCount;
+            }
+            b[hiddenSize] = 1.0; // bias
+            double[] t = a; a = b; b = t;
+            prevCount = hiddenSize + 1;
+        }
+
+        // saída
+        int oi = i * outputCount;
+        for (int o = 0; o < outputCount; o++) {
+            outputs[oi + o] = f.sigmoid(w.dot(wi, a, prevCount));
+            wi += prevCount;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.flappybird;
+
+// Precisão com que a GenomeArena guarda os pesos. As ativações continuam em double;
+// o que muda é a memória por peso (e quantos indivíduos cabem em cache).
+public enum Precision {
+    DOUBLE(8),
+    FLOAT(4),
+    // ponto fixo de 16 bits: peso = valor / FIXED_SCALE, saturado em ±FIXED_MAX
+    FIXED16(2);
+
+    public static final double FIXED_SCALE = 16.0;                 // resolução de 1/16
+    public static final double FIXED_MAX = Short.MAX_VALUE / FIXED_SCALE; // ~±2048
+
+    public final int bytesPerWeight;
+
+    Precision(int bytesPerWeight) {
+        this.bytesPerWeight = bytesPerWeight;
+    }
+
+    static short toFixed(double v) {
+        double s = Math.rint(v * FIXED_SCALE);
+        if (s > Short.MAX_VALUE) return Short.MAX_VALUE;
+        if (s < -Short.MAX_VALUE) return -Short.MAX_VALUE;
+        return (short) s;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.flappybird;
+
+// Mede o efeito da precisão dos pesos no fitness: roda a 1ª geração com a mesma seed em
+// DOUBLE, FLOAT e FIXED16 (mesmas redes, só arredondadas) e compara pássaro a pássaro com DOUBLE.
+// O mesmo com uma população pequena roda no mvn test (PrecisionAgreementTest).
+// Uso: java -cp target/classes com.example.flappybird.PrecisionCheck [seed] [dt] [maxFrames] [população]
+public class PrecisionCheck {
+
+    private PrecisionCheck() {}
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        double dt = args.length > 1 ? Double.parseDouble(args[1]) : 1.0 / 60.0;
+        long maxFrames = args.length > 2 ? Long.parseLong(args[2]) : 20000;
+        int population = args.length > 3 ? Integer.parseInt(args[3]) : AIManager.POP_SIZE;
+
+        double[] reference = null;
+        for (Precision precision : Precision.values()) {
+            RunConfig config = new RunConfig();
+            config.seed = seed;
+            config.dt = dt;
+            config.population = population;
+            config.precision = precision;
+            long start = System.nanoTime();
+            double[] fitness = firstGeneration(config, maxFrames);
+            double secs = (System.nanoTime() - start) / 1e9;
+
+            double best = 0, mean = 0;
+            for (double f : fitness) {
+                best = Math.max(best, f);
+                mean += f;
+            }
+            mean /= fitness.length;
+
+            if (reference == null) {
+                reference = fitness.clone();
+                System.out.printf("%-8s %d bytes/peso  melhor %.0f  média %.2f  %.2fs%n",
+                        precision, precision.bytesPerWeight, best, mean, secs);
+                continue;
+            }
+            int same = 0;
+            double absDiff = 0, maxDiff = 0;
+            for (int i = 0; i < fitness.length; i++) {
+                double d = Math.abs(fitness[i] - reference[i]);
+                if (d == 0) same++;
+                absDiff += d;
+                maxDiff = Math.max(maxDiff, d);
+            }
+            System.out.printf("%-8s %d bytes/peso  melhor %.0f  média %.2f  %.2fs  iguais %.2f%%  |dif| média %.3f  máx %.0f%n",
+                    precision, precision.bytesPerWeight, best, mean, secs,
+                    100.0 * same / fitness.length, absDiff / fitness.length, maxDiff);
+        }
+    }
+
+    // fitness de cada pássaro na 1ª geração; quem passa de maxFrames fica com o fitness do último frame
+    static double[] firstGeneration(RunConfig config, long maxFrames) {
+        GameWorld world = new GameWorld(config);
+        world.init();
+        while (!world.ai.allDead() && world.framesAlive < maxFrames) world.stepFrame(config.dt);
+        world.workers.shutdown();
+
+        double[] fitness = world.ai.ga.fitness;
+        BirdPopulation birds = world.ai.birds;
+        for (int i = birds.nextAlive(0); i >= 0; i = birds.nextAlive(i + 1)) fitness[i] = world.framesAlive;
+        return fitness;
+    }
+}
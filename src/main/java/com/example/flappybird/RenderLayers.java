@@ -0,0 +1,129 @@
+package com.example.flappybird;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+// Render para populações grandes:
+//  - camadas estáticas (fundo, chão) desenhadas uma vez num WritableImage e só copiadas por frame
+//  - sprites dos pássaros já rotacionados ([cor][frame][rotação]), sem save/translate/rotate/restore
+//  - os pássaros vêm da amostra do WorldSnapshot, desenhada agrupada por sprite para o pipeline
+//    trocar de textura o mínimo possível
+// Precisa rodar na thread do JavaFX (usa snapshot).
+class RenderLayers {
+    private static final int COLORS = 3;
+    private static final int FRAMES = 3;
+    private static final int ROTATIONS = BirdPopulation.ROTATIONS.length;
+    private static final int BUCKETS = COLORS * ROTATIONS;
+
+    public int drawn; // pássaros desenhados no último frame (HUD)
+
+    private final Image[][][] birdSprites = new Image[COLORS][FRAMES][ROTATIONS];
+    private final double birdSide; // sprites rotacionados são quadrados com o pássaro no centro
+
+    private WritableImage background;
+    private boolean backgroundNight;
+    private WritableImage base;
+
+    // amostra agrupada por sprite (counting sort por cor/rotação)
+    private int[] sorted = new int[0];
+    private final int[] bucketStart = new int[BUCKETS + 1];
+
+    RenderLayers(Image[][] birdColors) {
+        Image any = birdColors[0][0];
+        double w = any != null ? any.getWidth() : BirdPopulation.BIRD_W;
+        double h = any != null ? any.getHeight() : BirdPopulation.BIRD_H;
+        birdSide = Math.ceil(Math.hypot(w, h));
+
+        SnapshotParameters transparent = new SnapshotParameters();
+        transparent.setFill(Color.TRANSPARENT);
+        for (int c = 0; c < COLORS; c++) {
+            for (int f = 0; f < FRAMES; f++) {
+                for (int r = 0; r < ROTATIONS; r++) {
+                    Canvas canvas = new Canvas(birdSide, birdSide);
+                    GraphicsContext g = canvas.getGraphicsContext2D();
+                    g.translate(birdSide / 2.0, birdSide / 2.0);
+                    g.rotate(BirdPopulation.ROTATIONS[r]);
+                    Image frame = birdColors[c][f];
+                    if (frame != null) {
+                        g.drawImage(frame, -frame.getWidth() / 2.0, -frame.getHeight() / 2.0);
+                    } else {
+                        g.setFill(Color.YELLOW);
+                        g.fillOval(-w / 2.0, -h / 2.0, w, h);
+                    }
+                    birdSprites[c][f][r] = canvas.snapshot(transparent, null);
+                }
+            }
+        }
+    }
+
+    // fundo inteiro (cor + imagem repetida); refeito só quando muda dia/noite
+    void drawBackground(GraphicsContext gc, Image bg, boolean night) {
+        if (background == null || backgroundNight != night) {
+            Canvas canvas = new Canvas(GameWorld.WINDOW_W, GameWorld.WINDOW_H);
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            g.setFill(Color.web("#4ec0d8"));
+            g.fillRect(0, 0, GameWorld.WINDOW_W, GameWorld.WINDOW_H);
+            if (bg != null) {
+                double scale = GameWorld.WINDOW_H / bg.getHeight();
+                double w = bg.getWidth() * scale;
+                for (double x = 0; x < GameWorld.WINDOW_W + w; x += w) {
+                    g.drawImage(bg, x, 0, w, GameWorld.WINDOW_H);
+                }
+            }
+            background = canvas.snapshot(null, null);
+            backgroundNight = night;
+        }
+        gc.drawImage(background, 0, 0);
+    }
+
+    // chão: faixa com duas cópias da imagem, deslocada por baseX
+    void drawBase(GraphicsContext gc, Image img, double baseX) {
+        if (img == null) {
+            gc.setFill(Color.SADDLEBROWN);
+            gc.fillRect(0, GameWorld.WINDOW_H - 100, GameWorld.WINDOW_W, 100);
+            return;
+        }
+        if (base == null) {
+            Canvas canvas = new Canvas(img.getWidth() * 2, img.getHeight());
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            g.drawImage(img, 0, 0);
+            g.drawImage(img, img.getWidth(), 0);
+            SnapshotParameters transparent = new SnapshotParameters();
+            transparent.setFill(Color.TRANSPARENT);
+            base = canvas.snapshot(transparent, null);
+        }
+        gc.drawImage(base, baseX, GameWorld.WINDOW_H - img.getHeight());
+    }
+
+    // amostra do snapshot agrupada por sprite (cor, rotação); o frame da animação é o mesmo para todos
+    void drawBirds(GraphicsContext gc, WorldSnapshot snap) {
+        if (sorted.length < snap.birdCount) sorted = new int[snap.birdCount];
+        int elites = snap.eliteCount, n = snap.birdCount;
+
+        Arrays.fill(bucketStart, 0);
+        for (int s = elites; s < n; s++) bucketStart[bucket(snap, s) + 1]++;
+        for (int b = 0; b < BUCKETS; b++) bucketStart[b + 1] += bucketStart[b];
+        for (int s = elites; s < n; s++) sorted[bucketStart[bucket(snap, s)]++] = s;
+
+        for (int k = 0; k < n - elites; k++) drawBird(gc, snap, sorted[k]);
+        // elites por cima
+        for (int s = 0; s < elites; s++) drawBird(gc, snap, s);
+        drawn = n;
+    }
+
+    private void drawBird(GraphicsContext gc, WorldSnapshot snap, int s) {
+        double half = birdSide / 2.0;
+        gc.drawImage(birdSprites[snap.birdColor[s]][snap.animIndex][snap.birdRotation[s]],
+                snap.birdX[s] - half, snap.birdY[s] - half);
+    }
+
+    private static int bucket(WorldSnapshot snap, int s) {
+        return snap.birdColor[s] * ROTATIONS + snap.birdRotation[s];
+    }
+}
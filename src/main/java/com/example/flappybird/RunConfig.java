@@ -0,0 +1,184 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// Configuração de um treino: arquivo .properties (chave=valor) + sobrescritas na linha de comando
+// (--chave=valor). Os padrões reproduzem o comportamento de antes (mesma seed -> mesmo treino).
+// O motor dimensiona tudo a partir daqui na criação do GameWorld; nada é realocado durante o treino.
+//
+// Chaves: population, hidden-layers, hidden-size, elites, mutation-rate, mutation-scale, mutation-step,
+// weight-range, threads, precision, simd, off-heap, dt, seed, max-frames, stagnation, cull, courses,
+// steady-state, decision-interval, decision-threshold, activation, sparse, codegen, add-connection,
+// add-node, remove-connection, remove-node, max-nodes, max-connections
+public class RunConfig {
+    // população e rede (entradas/saídas são as do jogo: AIManager.INPUTS/OUTPUTS)
+    public int population = AIManager.POP_SIZE;
+    public int hiddenLayers = 1;
+    public int hiddenSize = AIManager.HIDDEN;
+
+    // GA
+    public int elites = GA.STEP;
+    public GenomeUtils.Mutation mutation = new GenomeUtils.Mutation();
+
+    // execução
+    public int threads = Runtime.getRuntime().availableProcessors();
+    public Precision precision = Precision.DOUBLE;
+    public boolean simd = false;
+    public Activation activation = Activation.EXACT; // sigmoid/relu da inferência (ver ActivationAgreementTest)
+    public boolean offHeap = false;
+    public double dt = 1.0 / 60.0;
+    public long seed = System.nanoTime();
+
+    // episódio (0/false = desligado; ver GameWorld)
+    public int maxFrames = 0;
+    public int stagnationFrames = 0;
+    public boolean cullDoomed = false;
+    public int courses = 0;
+
+    // GA steady-state: cada morto é trocado na hora por um filho de um dos `elites` vivos mais antigos
+    // (aí max-frames limita o tamanho de uma "geração" de relatório em vez de cortar episódios)
+    public boolean steadyState = false;
+
+    // rede a cada decision-interval frames, repetindo a última ação entre uma decisão e outra; com
+    // decision-threshold > 0 também decide antes se as entradas mudaram mais que isso ou o cano-alvo mudou
+    public int decisionInterval = 1;
+    public double decisionThreshold = 0;
+
+    // rede de topologia variável (SparseGenomes) em vez das camadas densas: hidden-layers/hidden-size,
+    // precision, off-heap e simd não se aplicam; codegen gera bytecode para cada rede (SparseCodegen)
+    public boolean sparse = false;
+    public boolean codegen = false;
+    public SparseGenomes.Structure structure = new SparseGenomes.Structure();
+
+    public RunConfig() {}
+
+    public static RunConfig load(Path file) throws IOException {
+        return load(file, new RunConfig());
+    }
+
+    // lê o arquivo por cima de c (o que ele não define fica como está)
+    static RunConfig load(Path file, RunConfig c) throws IOException {
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        for (String key : p.stringPropertyNames()) c.set(key, p.getProperty(key).trim());
+        return c;
+    }
+
+    // --chave=valor (ou --chave para booleanos); devolve false se não é uma opção de configuração
+    public boolean override(String arg) {
+        if (!arg.startsWith("--")) return false;
+        int eq = arg.indexOf('=');
+        String key = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+        if (!isKey(key)) return false;
+        set(key, eq < 0 ? "true" : arg.substring(eq + 1));
+        return true;
+    }
+
+    private static boolean isKey(String key) {
+        switch (key) {
+            case "population": case "hidden-layers": case "hidden-size": case "elites":
+            case "mutation-rate": case "mutation-scale": case "mutation-step": case "weight-range":
+            case "threads": case "precision": case "simd": case "activation": case "off-heap": case "dt": case "seed":
+            case "max-frames": case "stagnation": case "cull": case "courses": case "steady-state":
+            case "decision-interval": case "decision-threshold": case "sparse": case "codegen":
+            case "add-connection": case "add-node": case "remove-connection": case "remove-node":
+            case "max-nodes": case "max-connections":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public void set(String key, String value) {
+        switch (key) {
+            case "population": population = Integer.parseInt(value); break;
+            case "hidden-layers": hiddenLayers = Integer.parseInt(value); break;
+            case "hidden-size": hiddenSize = Integer.parseInt(value); break;
+            case "elites": elites = Integer.parseInt(value); break;
+            case "mutation-rate": mutation.rate = Double.parseDouble(value); break;
+            case "mutation-scale": mutation.scale = Double.parseDouble(value); break;
+            case "mutation-step": mutation.step = Double.parseDouble(value); break;
+            case "weight-range": mutation.range = Double.parseDouble(value); break;
+            case "threads": threads = Integer.parseInt(value); break;
+            case "precision": precision = Precision.valueOf(value.toUpperCase()); break;
+            case "simd": simd = Boolean.parseBoolean(value); break;
+            case "activation": activation = Activation.valueOf(value.toUpperCase()); break;
+            case "off-heap": offHeap = Boolean.parseBoolean(value); break;
+            case "dt": dt = Double.parseDouble(value); break;
+            case "seed": seed = Long.parseLong(value); break;
+            case "max-frames": maxFrames = Integer.parseInt(value); break;
+            case "stagnation": stagnationFrames = Integer.parseInt(value); break;
+            case "cull": cullDoomed = Boolean.parseBoolean(value); break;
+            case "courses": courses = Integer.parseInt(value); break;
+            case "steady-state": steadyState = Boolean.parseBoolean(value); break;
+            case "decision-interval": decisionInterval = Integer.parseInt(value); break;
+            case "decision-threshold": decisionThreshold = Double.parseDouble(value); break;
+            case "sparse": sparse = Boolean.parseBoolean(value); break;
+            case "codegen": codegen = Boolean.parseBoolean(value); break;
+            case "add-connection": structure.addConnection = Double.parseDouble(value); break;
+            case "add-node": structure.addNode = Double.parseDouble(value); break;
+            case "remove-connection": structure.removeConnection = Double.parseDouble(value); break;
+            case "remove-node": structure.removeNode = Double.parseDouble(value); break;
+            case "max-nodes": structure.maxNodes = Integer.parseInt(value); break;
+            case "max-connections": structure.maxConnections = Integer.parseInt(value); break;
+            default: throw new IllegalArgumentException("opção de configuração desconhecida: " + key);
+        }
+    }
+
+    // erros de configuração antes de alocar qualquer coisa
+    public void validate() {
+        if (population < 1) throw new IllegalArgumentException("population precisa ser >= 1");
+        if (hiddenLayers < 1 || hiddenSize < 1) throw new IllegalArgumentException("a rede precisa de pelo menos uma camada escondida");
+        if (elites < 1 || elites > population) throw new IllegalArgumentException("elites precisa estar entre 1 e population");
+        if (threads < 1) throw new IllegalArgumentException("threads precisa ser >= 1");
+        if (!(dt > 0)) throw new IllegalArgumentException("dt precisa ser > 0");
+        if (mutation.rate <= 0 || mutation.rate > 1) throw new IllegalArgumentException("mutation-rate precisa estar em (0, 1]");
+        if (!(mutation.scale > 0)) throw new IllegalArgumentException("mutation-scale precisa ser > 0");
+        if (!(mutation.step > 0)) throw new IllegalArgumentException("mutation-step precisa ser > 0");
+        if (!(mutation.range > 0)) throw new IllegalArgumentException("weight-range precisa ser > 0");
+        if (precision == Precision.FIXED16 && !sparse && mutation.range > Precision.FIXED_MAX) {
+            // a arena satura em ±FIXED_MAX: os pesos sorteados acima disso virariam o limite sem aviso
+            throw new IllegalArgumentException("com FIXED16 weight-range vai até " + Precision.FIXED_MAX);
+        }
+        if (decisionInterval < 1 || decisionThreshold < 0) {
+            throw new IllegalArgumentException("decision-interval precisa ser >= 1 e decision-threshold >= 0");
+        }
+        if (steadyState && (courses > 0 || stagnationFrames > 0)) {
+            throw new IllegalArgumentException("steady-state não tem episódios: sem courses ou stagnation");
+        }
+        if (courses > 0 && stagnationFrames > 0) {
+            // o corte depende de quem mais está no curso: o cache por (genoma, curso) ficaria errado
+            throw new IllegalArgumentException("courses não combina com stagnation");
+        }
+        if (sparse && (steadyState || courses > 0)) {
+            throw new IllegalArgumentException("sparse só no GA por gerações, sem courses (genomas fora da arena)");
+        }
+        if (codegen && !sparse) throw new IllegalArgumentException("codegen é só para redes sparse");
+        if (codegen && structure.maxNodes > SparseCodegen.MAX_NODES) {
+            // um local double por slot: max_locals (u2) não comporta mais
+            throw new IllegalArgumentException("codegen aceita max-nodes até " + SparseCodegen.MAX_NODES);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "population=" + population + " hidden-layers=" + hiddenLayers + " hidden-size=" + hiddenSize
+                + " elites=" + elites + " mutation-rate=" + mutation.rate + " mutation-scale=" + mutation.scale
+                + " mutation-step=" + mutation.step + " weight-range=" + mutation.range
+                + " threads=" + threads + " precision=" + precision + " simd=" + simd + " activation=" + activation + " off-heap=" + offHeap
+                + " dt=" + dt + " seed=" + seed + " max-frames=" + maxFrames + " stagnation=" + stagnationFrames
+                + " cull=" + cullDoomed + " courses=" + courses + " steady-state=" + steadyState
+                + " decision-interval=" + decisionInterval + " decision-threshold=" + decisionThreshold
+                + " sparse=" + sparse + (sparse ? " codegen=" + codegen + " add-connection=" + structure.addConnection
+                + " add-node=" + structure.addNode + " remove-connection=" + structure.removeConnection
+                + " remove-node=" + structure.removeNode + " max-nodes=" + structure.maxNodes
+                + " max-connections=" + structure.maxConnections : "");
+    }
+}
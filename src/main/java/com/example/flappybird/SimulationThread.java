@@ -0,0 +1,65 @@
+package com.example.flappybird;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Simulação fora da thread do JavaFX, com passo fixo (o resultado não depende do FPS da janela).
+// speed: 1 = tempo real, 10 = dez vezes mais rápido, MAX = sem esperar nada. Se a CPU não
+// acompanha a velocidade pedida, o atraso é descartado em vez de acumulado.
+// A cada lote de passos o estado vai para o SnapshotBuffer; no MAX só quando o render já pegou o anterior.
+public final class SimulationThread extends Thread {
+    public static final double DT = 1.0 / 60.0;
+    public static final double MAX = 0;
+    private static final double MAX_BACKLOG = 0.25; // segundos de tempo real
+
+    public final SnapshotBuffer snapshots = new SnapshotBuffer();
+    public volatile double speed;
+    public volatile int maxBirds;
+
+    private final GameWorld world;
+    private volatile boolean running = true;
+
+    public SimulationThread(GameWorld world, double speed, int maxBirds) {
+        super("simulation");
+        setDaemon(true);
+        this.world = world;
+        this.speed = speed;
+        this.maxBirds = maxBirds;
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        double due = 0; // tempo de simulação devido
+        while (running) {
+            double s = speed;
+            if (s == MAX) {
+                world.step(DT);
+                if (!snapshots.pending()) publish();
+                last = System.nanoTime();
+                due = 0;
+                continue;
+            }
+
+            long now = System.nanoTime();
+            due = Math.min(due + (now - last) / 1e9 * s, MAX_BACKLOG * s);
+            last = now;
+            boolean stepped = false;
+            while (due >= DT && running) {
+                world.step(DT);
+                due -= DT;
+                stepped = true;
+            }
+            if (stepped) publish();
+            LockSupport.parkNanos((long) ((DT - due) / s * 1e9));
+        }
+    }
+
+    private void publish() {
+        snapshots.back().capture(world, maxBirds);
+        snapshots.publish();
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+}
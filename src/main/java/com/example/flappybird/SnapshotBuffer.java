@@ -0,0 +1,40 @@
+package com.example.flappybird;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Troca lock-free de snapshots entre a simulação (escreve) e o render (lê).
+// Dois buffers não bastam sem lock (a simulação poderia reescrever o que o render está lendo),
+// então há um terceiro no meio: a simulação escreve no seu, publica trocando pelo do meio, e o
+// render troca o seu pelo do meio quando há um novo. Nenhum lado espera o outro e o render
+// sempre vê um snapshot inteiro, o mais recente; os intermediários são simplesmente pulados.
+public class SnapshotBuffer {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4; // o do meio ainda não foi pego pelo render
+
+    private final WorldSnapshot[] buffers = {new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot()};
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // só a simulação mexe
+    private int front = 2; // só o render mexe
+
+    public SnapshotBuffer() {}
+
+    // onde a simulação escreve o próximo snapshot
+    public WorldSnapshot back() {
+        return buffers[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // true enquanto o último publicado não foi lido (a simulação pode pular a captura)
+    public boolean pending() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    // snapshot mais recente; continua válido até a próxima chamada
+    public WorldSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) front = middle.getAndSet(front) & INDEX;
+        return buffers[front];
+    }
+}
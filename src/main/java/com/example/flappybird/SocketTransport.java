@@ -0,0 +1,72 @@
+package com.example.flappybird;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+// Ilhas em processos (ou máquinas) separados: cada uma escuta numa porta e conecta na da próxima.
+// As conexões são abertas no primeiro uso; a vizinha pode subir depois (tenta de novo por CONNECT_WAIT_MS).
+public class SocketTransport implements MigrationTransport {
+    private static final long CONNECT_WAIT_MS = 60_000;
+
+    private final ServerSocket server;
+    private final InetSocketAddress nextAddress;
+    private Socket outSocket, inSocket;
+    private DataOutputStream out;
+    private DataInputStream in;
+
+    public SocketTransport(int listenPort, String nextHost, int nextPort) throws IOException {
+        server = new ServerSocket(listenPort);
+        nextAddress = new InetSocketAddress(nextHost, nextPort);
+    }
+
+    @Override
+    public void send(Migrants batch) throws IOException {
+        if (out == null) connect();
+        batch.write(out);
+    }
+
+    @Override
+    public Migrants receive() throws IOException {
+        if (in == null) {
+            inSocket = server.accept();
+            in = new DataInputStream(new BufferedInputStream(inSocket.getInputStream()));
+        }
+        return Migrants.read(in);
+    }
+
+    private void connect() throws IOException {
+        long deadline = System.currentTimeMillis() + CONNECT_WAIT_MS;
+        while (true) {
+            try {
+                outSocket = new Socket();
+                outSocket.setTcpNoDelay(true);
+                outSocket.connect(nextAddress);
+                out = new DataOutputStream(new BufferedOutputStream(outSocket.getOutputStream()));
+                return;
+            } catch (ConnectException e) {
+                outSocket.close();
+                if (System.currentTimeMillis() > deadline) throw e;
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (outSocket != null) outSocket.close();
+        if (inSocket != null) inSocket.close();
+        server.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.flappybird;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Opcional (RunConfig.codegen): cada SparseProgram vira uma classe escondida (Lookup.defineHiddenClass)
+// com a rede desenrolada em bytecode: um local double por slot, pesos como constantes e relu com
+// Math.max/Math.min, sem laço nem desvio. Mesma ordem de soma do SparseProgram.evaluate.
+// O classfile sai da API java.lang.classfile (pool de constantes, wide e max_locals ficam com ela).
+// Cada classe custa uma definição + o JIT dela do zero; só compensa para redes que rodam muitas
+// vezes (população pequena, episódios longos). As classes escondidas são descarregadas pelo GC
+// quando o slot recebe a próxima geração.
+final class SparseCodegen {
+
+    // rede compilada: escreve em out as somas das saídas (o sigmoid fica com quem chama)
+    interface Net {
+        void eval(double[] in, int inOff, double[] out, int outOff);
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassDesc NAME = ClassDesc.of("com.example.flappybird.SparseNet");
+    private static final ClassDesc NET = ClassDesc.of("com.example.flappybird.SparseCodegen$Net");
+    private static final ClassDesc MATH = ClassDesc.of("java.lang.Math");
+    private static final MethodTypeDesc EVAL = MethodTypeDesc.of(ConstantDescs.CD_void,
+            ConstantDescs.CD_double.arrayType(), ConstantDescs.CD_int, ConstantDescs.CD_double.arrayType(), ConstantDescs.CD_int);
+    private static final MethodTypeDesc DD_D = MethodTypeDesc.of(ConstantDescs.CD_double, ConstantDescs.CD_double, ConstantDescs.CD_double);
+
+    // slot s fica no local FIRST_LOCAL + 2s (depois de this, in, inOff, out, outOff); max_locals é u2
+    private static final int FIRST_LOCAL = 5;
+    static final int MAX_NODES = (65535 - FIRST_LOCAL) / 2;
+
+    // o código de um método vai até 64 KB; acima disso fica no interpretador (null)
+    private static final int MAX_CODE = 65535;
+
+    private SparseCodegen() {}
+
+    static Net compile(SparseProgram p, int i) {
+        byte[] bytes = classFile(p, i);
+        if (bytes == null) return null;
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClass(bytes, true);
+            return (Net) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("falha ao gerar a rede esparsa " + i, e);
+        }
+    }
+
+    static byte[] classFile(SparseProgram p, int i) {
+        if (codeBound(p, i) > MAX_CODE) return null;
+        return ClassFile.of().build(NAME, cb -> cb
+                .withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SUPER)
+                .withSuperclass(ConstantDescs.CD_Object)
+                .withInterfaceSymbols(NET)
+                .withMethodBody(ConstantDescs.INIT_NAME, ConstantDescs.MTD_void, ClassFile.ACC_PUBLIC, code -> code
+                        .aload(0)
+                        .invokespecial(ConstantDescs.CD_Object, ConstantDescs.INIT_NAME, ConstantDescs.MTD_void)
+                        .return_())
+                .withMethodBody("eval", EVAL, ClassFile.ACC_PUBLIC, code -> eval(code, p, i)));
+    }
+
+    // eval(in, inOff, out, outOff): entradas e bias nos locais, um nó por vez, saídas no fim
+    private static void eval(CodeBuilder code, SparseProgram p, int i) {
+        for (int s = 0; s < p.inputs; s++) {
+            code.aload(1).iload(2).loadConstant(s).iadd().daload().dstore(local(s));
+        }
+        code.dconst_1().dstore(local(p.inputs));
+
+        // saídas começam em 0 (podem ficar sem conexão)
+        int outSlot = p.outputSlot(i, 0);
+        for (int o = 0; o < p.outputs; o++) code.dconst_0().dstore(local(outSlot + o));
+
+        // as conexões de cada destino estão juntas e em ordem topológica
+        int e = p.start[i], end = e + p.length[i];
+        while (e < end) {
+            int dst = p.ops[e] >>> 16;
+            code.dconst_0();
+            for (; e < end && p.ops[e] >>> 16 == dst; e++) {
+                code.dload(local(p.ops[e] & 0xFFFF)).loadConstant(p.weight[e]).dmul().dadd();
+            }
+            if (dst < outSlot) { // escondido: relu [0, 10000]
+                code.dconst_0().invokestatic(MATH, "max", DD_D)
+                        .loadConstant(10000.0).invokestatic(MATH, "min", DD_D);
+            }
+            code.dstore(local(dst));
+        }
+
+        for (int o = 0; o < p.outputs; o++) {
+            code.aload(3).iload(4).loadConstant(o).iadd().dload(local(outSlot + o)).dastore();
+        }
+        code.return_();
+    }
+
+    private static int local(int slot) {
+        return FIRST_LOCAL + 2 * slot;
+    }
+
+    // teto do tamanho do código de eval (instruções no maior formato: wide, sipush, ldc2_w)
+    private static int codeBound(SparseProgram p, int i) {
+        int nodes = p.hidden[i] + p.outputs;
+        return 11 * p.inputs + 5 + 5 * p.outputs + 15 * nodes + 9 * p.length[i] + 12 * p.outputs + 1;
+    }
+}
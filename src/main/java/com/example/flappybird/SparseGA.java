@@ -0,0 +1,56 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// GA sobre genomas de topologia variável (SparseGenomes): mesma seleção, elites e sorteio por bloco
+// do GA (Evolution); o filho é cópia + mutação de peso e de estrutura. Depois do evolve cada bloco é
+// compilado de novo (SparseProgram, elites também, para os programas ficarem em sequência) e, com
+// codegen, só os filhos ganham classe nova (a dos elites continua valendo).
+public final class SparseGA extends Evolution {
+    public final SparseGenomes sparse;
+    public final SparseProgram programs;
+    final SparseCodegen.Net[] nets; // null sem codegen (ou para programas grandes demais)
+
+    public SparseGA(int popSize, int inputCount, int outputCount, long seed, int elites,
+                    GenomeUtils.Mutation mutation, SparseGenomes.Structure structure, boolean codegen) {
+        super(popSize, seed, elites);
+        sparse = new SparseGenomes(popSize, inputCount, outputCount, structure, mutation);
+        Random rnd = new Random(seed);
+        for (int i = 0; i < popSize; i++) sparse.init(i, rnd);
+        programs = new SparseProgram(sparse, WorkerPool.chunkCount(popSize));
+        nets = codegen ? new SparseCodegen.Net[popSize] : null;
+        compile(programs, nets, new WorkerPool(1));
+    }
+
+    @Override
+    public void evolve(WorkerPool workers) {
+        super.evolve(workers);
+        compile(programs, nets, workers);
+    }
+
+    @Override
+    void breed(int parent, int i, SplittableRandom r) {
+        sparse.copy(parent, i);
+        sparse.mutate(i, r);
+        if (nets != null) nets[i] = null;
+    }
+
+    // tudo de novo, programas e classes, depois de mexer nos genomas por fora (SparseBench)
+    void recompile(WorkerPool workers) {
+        if (nets != null) Arrays.fill(nets, null);
+        compile(programs, nets, workers);
+    }
+
+    // programas de todos; classes para quem não tem (filhos novos)
+    private static void compile(SparseProgram programs, SparseCodegen.Net[] nets, WorkerPool workers) {
+        workers.forEachChunk(programs.size, (chunk, from, to) -> {
+            programs.compileChunk(chunk, from, to);
+            if (nets != null) {
+                for (int i = from; i < to; i++) if (nets[i] == null) nets[i] = SparseCodegen.compile(programs, i);
+            }
+            return 0;
+        });
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.flappybird;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// Genomas de topologia variável (estilo NEAT, mas sem crossover nem espécies: o GA daqui só clona e
+// muta, então não precisa de números de inovação). Cada genoma é uma lista de nós e de conexões
+// (origem, destino, peso); as mutações mexem nos pesos e também criam/apagam nós e conexões.
+// Nós: 0..inputs-1 entradas, inputs = bias, depois as saídas, depois os escondidos. Cada nó tem uma
+// profundidade (entradas/bias 0, saídas 1, escondido novo no meio da conexão que dividiu) e conexão
+// só liga profundidade menor a maior: a rede é sempre acíclica e ordenar por profundidade já dá a
+// ordem topológica (ver SparseProgram).
+// Tudo em arrays planos com capacidade fixa por indivíduo (como a GenomeArena): o indivíduo i usa
+// [i * maxNodes, i * maxNodes + nodeCount[i]) e [i * maxConnections, i * maxConnections + connCount[i]).
+public class SparseGenomes {
+
+    // probabilidade de cada mutação estrutural por filho (as de peso seguem GenomeUtils.Mutation)
+    // e tamanho máximo de um genoma
+    public static final class Structure {
+        public double addConnection = 0.3;
+        public double addNode = 0.1;
+        public double removeConnection = 0.1;
+        public double removeNode = 0.05;
+        public int maxNodes = 32;
+        public int maxConnections = 64;
+
+        public Structure() {}
+    }
+
+    public final int size, inputs, outputs, maxNodes, maxConnections;
+    final int[] nodeCount, connCount;
+    final double[] depth;          // [i * maxNodes + nó]
+    final int[] from, to;          // [i * maxConnections + conexão]
+    final double[] weight;
+    private final Structure structure;
+    private final GenomeUtils.Mutation mutation;
+
+    public SparseGenomes(int size, int inputs, int outputs, Structure structure, GenomeUtils.Mutation mutation) {
+        if (structure.maxNodes < inputs + 1 + outputs || structure.maxConnections < (inputs + 1) * outputs) {
+            throw new IllegalArgumentException("max-nodes/max-connections menores que a rede inicial");
+        }
+        if (structure.maxNodes > 0xFFFF) throw new IllegalArgumentException("max-nodes até 65535 (slot em 16 bits no SparseProgram)");
+        if ((long) size * (structure.maxNodes + structure.maxConnections) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("genomas esparsos grandes demais: " + size + " x " + structure.maxConnections);
+        }
+        this.size = size;
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.maxNodes = structure.maxNodes;
+        this.maxConnections = structure.maxConnections;
+        this.structure = structure;
+        this.mutation = mutation;
+        nodeCount = new int[size];
+        connCount = new int[size];
+        depth = new double[size * maxNodes];
+        from = new int[size * maxConnections];
+        to = new int[size * maxConnections];
+        weight = new double[size * maxConnections];
+    }
+
+    // nós que todo genoma tem (entradas, bias, saídas); os escondidos vêm depois
+    public int fixedNodes() {
+        return inputs + 1 + outputs;
+    }
+
+    public int hiddenCount(int i) {
+        return nodeCount[i] - fixedNodes();
+    }
+
+    public int connectionCount(int i) {
+        return connCount[i];
+    }
+
+    // rede mínima: cada entrada (e o bias) ligada direto a cada saída, pesos em [-range, range]
+    void init(int i, Random rnd) {
+        int n = i * maxNodes;
+        for (int k = 0; k < fixedNodes(); k++) depth[n + k] = k <= inputs ? 0.0 : 1.0;
+        nodeCount[i] = fixedNodes();
+        connCount[i] = 0;
+        for (int o = 0; o < outputs; o++) {
+            for (int s = 0; s <= inputs; s++) {
+                add(i, s, inputs + 1 + o, rnd.nextDouble() * (2 * mutation.range) - mutation.range);
+            }
+        }
+    }
+
+    public void copy(int src, int dst) {
+        System.arraycopy(depth, src * maxNodes, depth, dst * maxNodes, nodeCount[src]);
+        int c = connCount[src];
+        System.arraycopy(from, src * maxConnections, from, dst * maxConnections, c);
+        System.arraycopy(to, src * maxConnections, to, dst * maxConnections, c);
+        System.arraycopy(weight, src * maxConnections, weight, dst * maxConnections, c);
+        nodeCount[dst] = nodeCount[src];
+        connCount[dst] = c;
+    }
+
+    // mutações de peso (mesmas contas do GenomeUtils.mutate sobre as conexões) e depois as estruturais
+    public void mutate(int i, SplittableRandom r) {
+        int len = connCount[i];
+        if (len > 0) {
+            int base = i * maxConnections;
+            int mutations = r.nextInt(Math.max(1, (int) Math.round(mutation.rate * len))) + 1;
+            for (int m = 0; m < mutations; m++) {
+                int tipo = r.nextInt(3);
+                int idx = base + r.nextInt(len);
+                weight[idx] = GenomeUtils.mutateWeight(weight[idx], tipo, r, mutation);
+            }
+        }
+        if (r.nextDouble() < structure.addConnection) addConnection(i, r);
+        if (r.nextDouble() < structure.addNode) addNode(i, r);
+        if (r.nextDouble() < structure.removeConnection) removeConnection(i, r);
+        if (r.nextDouble() < structure.removeNode) removeNode(i, r);
+    }
+
+    // liga dois nós ainda não ligados, do mais raso para o mais fundo (algumas tentativas)
+    private void addConnection(int i, SplittableRandom r) {
+        if (connCount[i] == maxConnections) return;
+        int n = i * maxNodes, nodes = nodeCount[i];
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int a = r.nextInt(nodes - outputs);            // qualquer um menos as saídas
+            if (a > inputs) a += outputs;
+            int b = inputs + 1 + r.nextInt(nodes - inputs - 1); // qualquer um menos entradas/bias
+            if (depth[n + a] > depth[n + b]) { int t = a; a = b; b = t; } // só acontece entre escondidos
+            if (depth[n + a] == depth[n + b] || find(i, a, b) >= 0) continue;
+            add(i, a, b, r.nextDouble() * (2 * mutation.range) - mutation.range);
+            return;
+        }
+    }
+
+    // divide uma conexão a -> b em a -> novo (peso 1) e novo -> b (peso antigo)
+    private void addNode(int i, SplittableRandom r) {
+        if (connCount[i] == 0 || nodeCount[i] == maxNodes || connCount[i] == maxConnections) return;
+        int c = i * maxConnections + r.nextInt(connCount[i]);
+        int a = from[c], b = to[c];
+        double w = weight[c];
+        int n = i * maxNodes;
+        double d = (depth[n + a] + depth[n + b]) / 2;
+        if (d == depth[n + a] || d == depth[n + b]) return; // sem espaço entre as profundidades
+        int node = nodeCount[i]++;
+        depth[n + node] = d;
+        remove(i, c - i * maxConnections);
+        add(i, a, node, 1.0);
+        add(i, node, b, w);
+    }
+
+    private void removeConnection(int i, SplittableRandom r) {
+        if (connCount[i] > 0) remove(i, r.nextInt(connCount[i]));
+    }
+
+    // apaga um escondido e tudo que toca nele; o último nó ocupa o lugar dele
+    private void removeNode(int i, SplittableRandom r) {
+        int hidden = hiddenCount(i);
+        if (hidden == 0) return;
+        int node = fixedNodes() + r.nextInt(hidden);
+        int base = i * maxConnections;
+        for (int c = connCount[i] - 1; c >= 0; c--) {
+            if (from[base + c] == node || to[base + c] == node) remove(i, c);
+        }
+        int last = --nodeCount[i];
+        if (node != last) {
+            depth[i * maxNodes + node] = depth[i * maxNodes + last];
+            for (int c = 0; c < connCount[i]; c++) {
+                if (from[base + c] == last) from[base + c] = node;
+                if (to[base + c] == last) to[base + c] = node;
+            }
+        }
+    }
+
+    private void add(int i, int a, int b, double w) {
+        int c = i * maxConnections + connCount[i]++;
+        from[c] = a;
+        to[c] = b;
+        weight[c] = w;
+    }
+
+    // a última conexão ocupa o lugar da apagada
+    private void remove(int i, int c) {
+        int base = i * maxConnections;
+        int last = base + --connCount[i];
+        from[base + c] = from[last];
+        to[base + c] = to[last];
+        weight[base + c] = weight[last];
+    }
+
+    private int find(int i, int a, int b) {
+        int base = i * maxConnections;
+        for (int c = 0; c < connCount[i]; c++) {
+            if (from[base + c] == a && to[base + c] == b) return c;
+        }
+        return -1;
+    }
+}
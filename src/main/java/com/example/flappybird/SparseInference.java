@@ -0,0 +1,37 @@
+package com.example.flappybird;
+
+// Inferência da população esparsa: roda o programa compilado de cada genoma (SparseProgram) ou, com
+// codegen, a classe gerada para ele. Mesmos buffers de entrada/saída da PopulationInference, então
+// o AIManager (e o DecisionThrottle) não sabem a diferença.
+public class SparseInference extends PopulationInference {
+    public final SparseGA ga;
+    private final double[][] values; // slots de valor, um por bloco do WorkerPool
+
+    public SparseInference(SparseGA ga, int inputCount, int outputCount, Activation activation) {
+        super(ga.size(), inputCount, outputCount, activation);
+        this.ga = ga;
+        values = new double[WorkerPool.chunkCount(size)][ga.programs.maxSlots];
+    }
+
+    @Override
+    public String backend() {
+        return "sparse " + (ga.nets != null ? "bytecode" : "programa") + ", " + activation.name().toLowerCase();
+    }
+
+    @Override
+    public void computeMarked(long[] bits, int chunk, int from, int to) {
+        SparseProgram p = ga.programs;
+        SparseCodegen.Net[] nets = ga.nets;
+        double[] v = values[chunk];
+        for (int i = BirdPopulation.nextSet(bits, size, from); i >= 0 && i < to; i = BirdPopulation.nextSet(bits, size, i + 1)) {
+            SparseCodegen.Net net = nets != null ? nets[i] : null;
+            if (net == null) {
+                p.evaluate(i, inputs, i * inputCount, outputs, i * outputCount, v, activation);
+                continue;
+            }
+            int oi = i * outputCount;
+            net.eval(inputs, i * inputCount, outputs, oi);
+            for (int o = 0; o < outputCount; o++) outputs[oi + o] = activation.sigmoid(outputs[oi + o]);
+        }
+    }
+}
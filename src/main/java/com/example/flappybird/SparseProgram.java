@@ -0,0 +1,184 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+
+// Cada genoma esparso compilado (uma vez por geração, no evolve) num programa plano em ordem
+// topológica: só os escondidos que recebem algo das entradas e chegam numa saída, e só as conexões
+// entre eles. O programa é uma lista de conexões agrupadas por destino, destinos em ordem topológica
+// (escondidos por profundidade, depois as saídas), cada uma como origem | destino << 16 + peso.
+// Slots de valor: 0..inputs-1 entradas, inputs = bias, depois os escondidos na ordem do programa,
+// depois as saídas. A avaliação é um laço só sobre as conexões, v[destino] += relu(v[origem]) * peso,
+// sem fronteira de nó: a relu é aplicada na leitura, com limites por slot (entradas passam direto).
+// Os programas de um bloco do WorkerPool ficam em sequência, sem buracos, a partir de from * stride
+// (compileChunk): a inferência lê a memória em ordem. Cada bloco tem seu rascunho.
+public class SparseProgram {
+    public final int size, inputs, outputs, stride, maxSlots;
+    final int[] ops;
+    final double[] weight;
+    final int[] start;      // onde começa o programa do indivíduo i
+    final int[] length;
+    final int[] hidden;     // escondidos no programa (as saídas ficam nos slots seguintes)
+    private final double[] lo, hi; // relu [0, 10000] nos escondidos, identidade nas entradas e bias
+    private final SparseGenomes genomes;
+    private final Scratch[] scratch;
+
+    public SparseProgram(SparseGenomes genomes, int chunks) {
+        this.genomes = genomes;
+        this.size = genomes.size;
+        this.inputs = genomes.inputs;
+        this.outputs = genomes.outputs;
+        this.stride = genomes.maxConnections;
+        this.maxSlots = genomes.maxNodes;
+        ops = new int[size * stride];
+        weight = new double[size * stride];
+        start = new int[size];
+        length = new int[size];
+        hidden = new int[size];
+        lo = new double[maxSlots];
+        hi = new double[maxSlots];
+        for (int s = 0; s < maxSlots; s++) {
+            lo[s] = s <= inputs ? Double.NEGATIVE_INFINITY : 0.0;
+            hi[s] = s <= inputs ? Double.POSITIVE_INFINITY : 10000.0;
+        }
+        scratch = new Scratch[chunks];
+        for (int c = 0; c < chunks; c++) scratch[c] = new Scratch(genomes.maxNodes, genomes.maxConnections);
+    }
+
+    // conexões que o programa do indivíduo i avalia
+    public int connections(int i) {
+        return length[i];
+    }
+
+    public int hiddenNodes(int i) {
+        return hidden[i];
+    }
+
+    // slot da saída o no programa do indivíduo i
+    int outputSlot(int i, int o) {
+        return inputs + 1 + hidden[i] + o;
+    }
+
+    // rascunho de um bloco: entradas de cada nó (CSR), ordem por profundidade e slot de cada nó
+    private static final class Scratch {
+        final int[] inStart, inList, order, slot;
+        final boolean[] live, needed;
+
+        Scratch(int maxNodes, int maxConnections) {
+            inStart = new int[maxNodes + 1];
+            inList = new int[maxConnections];
+            order = new int[maxNodes];
+            slot = new int[maxNodes];
+            live = new boolean[maxNodes];
+            needed = new boolean[maxNodes];
+        }
+    }
+
+    // todos os indivíduos de [from, to), um atrás do outro
+    public void compileChunk(int chunk, int from, int to) {
+        int pc = from * stride;
+        for (int i = from; i < to; i++) pc = compile(i, chunk, pc);
+    }
+
+    // programa do indivíduo i a partir de pc; devolve onde ele termina
+    private int compile(int i, int chunk, int pc) {
+        SparseGenomes g = genomes;
+        Scratch s = scratch[chunk];
+        int nodes = g.nodeCount[i], conns = g.connCount[i];
+        int nb = i * g.maxNodes, cb = i * g.maxConnections;
+        int firstHidden = g.fixedNodes(), firstOutput = inputs + 1;
+
+        // conexões agrupadas por destino
+        int[] inStart = s.inStart, inList = s.inList;
+        Arrays.fill(inStart, 0, nodes + 1, 0);
+        for (int c = 0; c < conns; c++) inStart[g.to[cb + c] + 1]++;
+        for (int n = 0; n < nodes; n++) inStart[n + 1] += inStart[n];
+        for (int c = 0; c < conns; c++) inList[inStart[g.to[cb + c]]++] = c;
+        for (int n = nodes; n > 0; n--) inStart[n] = inStart[n - 1];
+        inStart[0] = 0;
+
+        // escondidos por profundidade (inserção; empate: menor id)
+        int[] order = s.order;
+        int hiddenCount = nodes - firstHidden;
+        for (int k = 0; k < hiddenCount; k++) {
+            int n = firstHidden + k;
+            double d = g.depth[nb + n];
+            int pos = k;
+            while (pos > 0 && g.depth[nb + order[pos - 1]] > d) {
+                order[pos] = order[pos - 1];
+                pos--;
+            }
+            order[pos] = n;
+        }
+
+        // vivo: recebe algo de uma entrada/bias ou de outro vivo (senão vale sempre relu(0) = 0)
+        boolean[] live = s.live, needed = s.needed;
+        for (int n = 0; n < nodes; n++) {
+            live[n] = n <= inputs;
+            needed[n] = n >= firstOutput && n < firstHidden;
+        }
+        for (int k = 0; k < hiddenCount; k++) {
+            int n = order[k];
+            for (int e = inStart[n]; e < inStart[n + 1] && !live[n]; e++) live[n] = live[g.from[cb + inList[e]]];
+        }
+        // necessário: alimenta uma saída ou outro necessário (de trás para frente)
+        for (int n = firstOutput; n < firstHidden; n++) markSources(g, cb, s, n);
+        for (int k = hiddenCount - 1; k >= 0; k--) {
+            if (needed[order[k]]) markSources(g, cb, s, order[k]);
+        }
+
+        int[] slot = s.slot;
+        for (int n = 0; n <= inputs; n++) slot[n] = n;
+        int next = inputs + 1;
+        for (int k = 0; k < hiddenCount; k++) {
+            int n = order[k];
+            if (live[n] && needed[n]) slot[n] = next++;
+        }
+        int emitted = next - inputs - 1;
+        for (int o = 0; o < outputs; o++) slot[firstOutput + o] = next + o;
+
+        start[i] = pc;
+        for (int k = 0; k < hiddenCount; k++) {
+            int n = order[k];
+            if (live[n] && needed[n]) pc = emit(g, cb, s, n, pc);
+        }
+        for (int n = firstOutput; n < firstHidden; n++) pc = emit(g, cb, s, n, pc);
+        length[i] = pc - start[i];
+        hidden[i] = emitted;
+        return pc;
+    }
+
+    private static void markSources(SparseGenomes g, int cb, Scratch s, int n) {
+        for (int e = s.inStart[n]; e < s.inStart[n + 1]; e++) s.needed[g.from[cb + s.inList[e]]] = true;
+    }
+
+    // conexões vivas que chegam no nó n
+    private int emit(SparseGenomes g, int cb, Scratch s, int n, int pc) {
+        int dst = s.slot[n] << 16;
+        for (int e = s.inStart[n]; e < s.inStart[n + 1]; e++) {
+            int c = cb + s.inList[e];
+            int src = g.from[c];
+            if (!s.live[src]) continue;
+            ops[pc] = s.slot[src] | dst;
+            weight[pc] = g.weight[c];
+            pc++;
+        }
+        return pc;
+    }
+
+    // roda o programa do indivíduo i; v: rascunho com pelo menos maxSlots posições.
+    // Mesma ordem de soma de um nó por vez (as conexões de cada destino estão juntas e em ordem)
+    public void evaluate(int i, double[] in, int inOff, double[] out, int outOff, double[] v, Activation f) {
+        System.arraycopy(in, inOff, v, 0, inputs);
+        v[inputs] = 1.0; // bias
+        int first = inputs + 1, outSlot = first + hidden[i];
+        Arrays.fill(v, first, outSlot + outputs, 0.0);
+        final int[] ops = this.ops;
+        final double[] w = weight, lo = this.lo, hi = this.hi;
+        for (int e = start[i], end = e + length[i]; e < end; e++) {
+            int op = ops[e];
+            int src = op & 0xFFFF;
+            v[op >>> 16] += Math.min(Math.max(v[src], lo[src]), hi[src]) * w[e];
+        }
+        for (int o = 0; o < outputs; o++) out[outOff + o] = f.sigmoid(v[outSlot + o]);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.flappybird;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// GA steady-state: sem barreira de geração. Cada pássaro que morre tem o slot reaproveitado na
+// hora por um filho (cópia + mutação) de um dos `elites` pássaros mais antigos da população, que
+// nasce no mesmo curso em andamento. Assim todo slot está sempre jogando, em vez de esperar os
+// últimos sobreviventes da geração.
+// Os pais são os que estão há mais tempo vivos agora (ou, se todos morreram, os que morreram mais
+// velhos neste frame): todos jogam o mesmo curso, então idade é comparável e não fica preso num
+// recorde antigo que teve sorte.
+// Fitness = frames que o próprio pássaro sobreviveu. A cada `population` mortes (ou `max-frames`
+// frames, se configurado: com redes boas quase ninguém morre) fecha uma "geração" só para relatório
+// (print, métricas, campeão); o melhor dela considera também a idade do vivo mais antigo.
+// Determinístico com qualquer número de threads: mortes e pais são varridos em ordem de índice numa
+// thread só e os filhos de cada bloco usam um gerador derivado de (seed, frame, bloco). Cada bloco
+// guarda a faixa x dos seus filhos e a faixa da população (BirdPopulation.minX/maxX) é alargada
+// depois, numa thread só.
+public class SteadyState {
+    public final int parentCount;
+    public long births;
+
+    private final GenomeArena parents;   // cópia dos pais deste frame (os slots deles podem ser reescritos)
+    private final int[] top;
+    private final GenomeUtils.Mutation mutation;
+    private final long seed;
+    private final int maxFrames;
+    private long frame = 0;
+
+    // melhor morto até agora (campeão)
+    private double bestFitness = 0;
+    private double[] bestWeights;
+
+    // fitness das mortes da "geração" corrente, na ordem em que aconteceram; completed é a última fechada
+    private final double[] chunkMinX, chunkMaxX; // faixa x dos filhos de cada bloco neste frame
+    private final double[] window;
+    private int windowLen = 0;
+    private int windowFrames = 0;
+    public double[] completed = new double[0];
+
+    public SteadyState(long seed, RunConfig config, GenomeArena genomes) {
+        this.seed = seed;
+        this.parentCount = Math.min(config.elites, config.population);
+        this.mutation = config.mutation;
+        this.maxFrames = config.maxFrames;
+        parents = GenomeArena.allocate(parentCount, genomes.stride, genomes.precision, false);
+        top = new int[parentCount];
+        window = new double[config.population];
+        chunkMinX = new double[WorkerPool.chunkCount(config.population)];
+        chunkMaxX = new double[chunkMinX.length];
+    }
+
+    // depois do frame: quem morreu renasce como filho de um dos mais antigos.
+    // Devolve true quando fechou uma "geração" de relatório.
+    public boolean refill(GameWorld world) {
+        AIManager ai = world.ai;
+        BirdPopulation birds = ai.birds;
+        double[] fitness = ai.ga.fitness;
+        frame++;
+        windowFrames++;
+
+        int dead = 0;
+        boolean full = false;
+        for (int i = birds.nextDead(0); i >= 0; i = birds.nextDead(i + 1)) {
+            double f = fitness[i];
+            if (f > bestFitness || bestWeights == null) {
+                bestFitness = f;
+                bestWeights = ai.ga.network(i).toGenome();
+            }
+            window[windowLen++] = f;
+            // no máximo uma janela cheia por frame: morrem no máximo `population` por frame
+            if (windowLen == window.length) full = closeWindow();
+            dead++;
+        }
+        if (!full && maxFrames > 0 && windowFrames >= maxFrames) full = closeWindow();
+        if (dead == 0) return full;
+
+        // pais: maiores idades entre todos os slots (a dos mortos parou no frame em que morreram,
+        // então um vivo sempre empata ou ganha de quem morreu com a mesma idade)
+        selectOldest(birds);
+        for (int k = 0; k < parentCount; k++) ai.ga.genomes.copyIndividual(top[k], parents, k);
+
+        world.workers.forEachChunk(birds.size, (chunk, from, to) -> breedChunk(ai, chunk, from, to));
+        for (int c = 0; c < chunkMinX.length; c++) birds.widen(chunkMinX[c], chunkMaxX[c]);
+        ai.aliveCount += dead;
+        births += dead;
+        return full;
+    }
+
+    private boolean closeWindow() {
+        completed = Arrays.copyOf(window, windowLen);
+        windowLen = 0;
+        windowFrames = 0;
+        return true;
+    }
+
+    // top-K por inserção sobre framesAlive (mesma ideia do GA.selectTop; empate: menor índice)
+    private void selectOldest(BirdPopulation birds) {
+        int[] age = birds.framesAlive;
+        int k = parentCount, filled = 0;
+        for (int i = 0; i < birds.size; i++) {
+            int a = age[i];
+            if (filled == k && a <= age[top[k - 1]]) continue;
+            int pos = filled < k ? filled++ : k - 1;
+            while (pos > 0 && age[top[pos - 1]] < a) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+        }
+    }
+
+    private int breedChunk(AIManager ai, int chunk, int from, int to) {
+        BirdPopulation birds = ai.birds;
+        GenomeArena genomes = ai.ga.genomes;
+        SplittableRandom r = null;
+        double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+        for (int i = birds.nextDead(from); i >= 0 && i < to; i = birds.nextDead(i + 1)) {
+            if (r == null) r = new SplittableRandom(GenomeUtils.mix64(seed ^ GenomeUtils.mix64(frame * 0x10000L + chunk)));
+            parents.copyIndividual(r.nextInt(parentCount), genomes, i);
+            GenomeUtils.mutate(genomes, i, r, mutation);
+            ai.ga.fitness[i] = 0;
+            double x = ai.place(i, r);
+            lo = Math.min(lo, x);
+            hi = Math.max(hi, x);
+        }
+        chunkMinX[chunk] = lo;
+        chunkMaxX[chunk] = hi;
+        return 0;
+    }
+
+    // mais velho entre os vivos, ou -1
+    public int oldestAlive(BirdPopulation birds) {
+        int best = -1;
+        for (int i = birds.nextAlive(0); i >= 0; i = birds.nextAlive(i + 1)) {
+            if (best < 0 || birds.framesAlive[i] > birds.framesAlive[best]) best = i;
+        }
+        return best;
+    }
+
+    // melhor já morto ou o vivo mais antigo, se ele já foi mais longe; congelado como campeão
+    public Champion champion(AIManager ai, int generation, long worldSeed) {
+        int oldest = oldestAlive(ai.birds);
+        if (oldest >= 0 && ai.birds.framesAlive[oldest] > bestFitness) {
+            return Champion.fromPopulation(ai, oldest, worldSeed, ai.birds.framesAlive[oldest], generation);
+        }
+        if (bestWeights == null) return null;
+        return new Champion(ai.brains.hiddenLayers, ai.brains.hiddenSize, bestWeights, generation, bestFitness, worldSeed);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.flappybird;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.ObjectName;
+
+// Registro de métricas em processo, por geração: tempo por fase (inferência, física, colisão,
+// evolve, render), queda de vivos ao longo dos frames, percentis de fitness e bytes alocados.
+// Custo por frame: alguns System.nanoTime() e somas; nada é alocado fora da virada de geração.
+// Exposto via JMX (TrainingMetricsMBean) e exportável em CSV/JSON.
+public class TrainingMetrics implements TrainingMetricsMBean {
+
+    public enum Phase { INFERENCE, PHYSICS, COLLISION, EVOLVE, RENDER }
+
+    // uma amostra de vivos a cada ALIVE_SAMPLE frames
+    public static final int ALIVE_SAMPLE = 10;
+    private static final int HISTORY = 1000;
+
+    // resumo de uma geração concluída
+    public static final class GenerationStats {
+        public int generation;
+        public long frames;
+        public long wallNanos;
+        public final long[] phaseNanos = new long[Phase.values().length];
+        public double fitnessMean, fitnessP50, fitnessP90, fitnessP99, fitnessMax;
+        public int population;
+        public long framesToHalfDead;
+        public int[] aliveSamples; // vivos a cada ALIVE_SAMPLE frames
+        public long allocatedBytes; // -1 se a JVM não informa
+        public long decisions;      // redes avaliadas
+        public long birdFrames;     // pássaros vivos somados frame a frame
+
+        public GenerationStats() {}
+
+        // fração dos pássaros-frame que rodaram a rede (1 sem DecisionThrottle)
+        public double decisionRate() {
+            return birdFrames == 0 ? 0 : (double) decisions / birdFrames;
+        }
+
+        public double phaseMillis(Phase p) {
+            return phaseNanos[p.ordinal()] / 1e6;
+        }
+    }
+
+    // geração em andamento (render pode vir de outra thread, por isso atômico)
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+    private int[] alive = new int[1024];
+    private int aliveLen = 0;
+    private long frames = 0;
+    private long decisions = 0, birdFrames = 0;
+    private long genStartNanos = System.nanoTime();
+    private long genStartAlloc = allocatedBytes();
+    private double[] sorted = new double[0];
+    private GenerationStats pendingStats;
+
+    private final ArrayDeque<GenerationStats> history = new ArrayDeque<>();
+    private volatile GenerationStats last;
+    private volatile int generation = 1;
+    private volatile int aliveCount;
+    private volatile double bestFitnessEver;
+
+    private Path csvSink;
+
+    public TrainingMetrics() {}
+
+    // dimensiona os buffers para a população e (se houver limite) o número de frames por geração
+    public void reserve(int population, int maxFrames) {
+        sorted = new double[population];
+        if (maxFrames > 0 && alive.length < maxFrames / ALIVE_SAMPLE + 1) alive = new int[maxFrames / ALIVE_SAMPLE + 1];
+    }
+
+    // soma o tempo desde `start` (System.nanoTime()) na fase
+    public void add(Phase phase, long start) {
+        phaseNanos.addAndGet(phase.ordinal(), System.nanoTime() - start);
+    }
+
+    // redes avaliadas neste frame entre `alive` pássaros vivos
+    public void countDecisions(int evaluated, int alive) {
+        decisions += evaluated;
+        birdFrames += alive;
+    }
+
+    public void endFrame(int aliveNow) {
+        aliveCount = aliveNow;
+        if (frames % ALIVE_SAMPLE == 0) {
+            if (aliveLen == alive.length) alive = Arrays.copyOf(alive, aliveLen * 2);
+            alive[aliveLen++] = aliveNow;
+        }
+        frames++;
+    }
+
+    // chamado com o fitness final da geração (antes do evolve zerar)
+    public void recordFitness(double[] fitness) {
+        if (sorted.length != fitness.length) sorted = new double[fitness.length];
+        System.arraycopy(fitness, 0, sorted, 0, fitness.length);
+        Arrays.sort(sorted);
+        GenerationStats s = pending();
+        s.population = fitness.length;
+        double sum = 0;
+        for (double f : sorted) sum += f;
+        s.fitnessMean = sorted.length == 0 ? 0 : sum / sorted.length;
+        s.fitnessP50 = percentile(0.50);
+        s.fitnessP90 = percentile(0.90);
+        s.fitnessP99 = percentile(0.99);
+        s.fitnessMax = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        if (s.fitnessMax > bestFitnessEver) bestFitnessEver = s.fitnessMax;
+    }
+
+    private GenerationStats pending() {
+        if (pendingStats == null) pendingStats = new GenerationStats();
+        return pendingStats;
+    }
+
+    private double percentile(double q) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+
+    // fecha a geração: congela os contadores num GenerationStats e zera para a próxima
+    public void endGeneration(int gen) {
+        GenerationStats s = pending();
+        pendingStats = null;
+        s.generation = gen;
+        s.frames = frames;
+        s.decisions = decisions;
+        s.birdFrames = birdFrames;
+        long nowNanos = System.nanoTime();
+        s.wallNanos = nowNanos - genStartNanos;
+        for (int p = 0; p < s.phaseNanos.length; p++) s.phaseNanos[p] = phaseNanos.getAndSet(p, 0);
+        s.aliveSamples = Arrays.copyOf(alive, aliveLen);
+        s.framesToHalfDead = framesToHalfDead(s.population);
+        long alloc = allocatedBytes();
+        s.allocatedBytes = alloc < 0 || genStartAlloc < 0 ? -1 : alloc - genStartAlloc;
+
+        frames = 0;
+        decisions = 0;
+        birdFrames = 0;
+        aliveLen = 0;
+        genStartNanos = nowNanos;
+        genStartAlloc = alloc;
+
+        synchronized (history) {
+            history.addLast(s);
+            if (history.size() > HISTORY) history.removeFirst();
+        }
+        last = s;
+        generation = gen + 1;
+        if (csvSink != null) appendCsv(s);
+    }
+
+    private long framesToHalfDead(int population) {
+        for (int i = 0; i < aliveLen; i++) {
+            if (alive[i] * 2 <= population) return (long) i * ALIVE_SAMPLE;
+        }
+        return frames;
+    }
+
+    // bytes alocados por todas as threads desde o início da JVM, ou -1
+    private static long allocatedBytes() {
+        try {
+            java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+            if (mx instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) mx).getTotalThreadAllocatedBytes();
+            }
+        } catch (UnsupportedOperationException e) {
+            // JVM sem suporte
+        }
+        return -1;
+    }
+
+    public List<GenerationStats> history() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public GenerationStats last() {
+        return last;
+    }
+
+    // ----------------- JMX -----------------
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName("com.example.flappybird:type=TrainingMetrics"));
+        } catch (Exception e) {
+            System.err.println("Não foi possível registrar o MBean de métricas: " + e);
+        }
+    }
+
+    @Override public int getGeneration() { return generation; }
+    @Override public long getFrames() { return frames; }
+    @Override public int getAliveCount() { return aliveCount; }
+    @Override public double getBestFitnessEver() { return bestFitnessEver; }
+
+    @Override public double getLastInferenceMillis() { return lastPhase(Phase.INFERENCE); }
+    @Override public double getLastPhysicsMillis() { return lastPhase(Phase.PHYSICS); }
+    @Override public double getLastCollisionMillis() { return lastPhase(Phase.COLLISION); }
+    @Override public double getLastEvolveMillis() { return lastPhase(Phase.EVOLVE); }
+    @Override public double getLastRenderMillis() { return lastPhase(Phase.RENDER); }
+    @Override public double getLastFitnessP50() { GenerationStats s = last; return s == null ? 0 : s.fitnessP50; }
+    @Override public double getLastFitnessP90() { GenerationStats s = last; return s == null ? 0 : s.fitnessP90; }
+    @Override public double getLastFitnessP99() { GenerationStats s = last; return s == null ? 0 : s.fitnessP99; }
+    @Override public double getLastFitnessMax() { GenerationStats s = last; return s == null ? 0 : s.fitnessMax; }
+    @Override public long getLastFramesToHalfDead() { GenerationStats s = last; return s == null ? 0 : s.framesToHalfDead; }
+    @Override public long getLastAllocatedBytes() { GenerationStats s = last; return s == null ? 0 : s.allocatedBytes; }
+    @Override public double getLastDecisionRate() { GenerationStats s = last; return s == null ? 0 : s.decisionRate(); }
+
+    @Override
+    public double getLastGenerationsPerSecond() {
+        GenerationStats s = last;
+        return s == null || s.wallNanos == 0 ? 0 : 1e9 / s.wallNanos;
+    }
+
+    private double lastPhase(Phase p) {
+        GenerationStats s = last;
+        return s == null ? 0 : s.phaseMillis(p);
+    }
+
+    // ----------------- exportação -----------------
+
+    private static final String CSV_HEADER = "generation,frames,wall_ms,inference_ms,physics_ms,collision_ms,evolve_ms,render_ms,"
+            + "population,fitness_mean,fitness_p50,fitness_p90,fitness_p99,fitness_max,frames_to_half_dead,allocated_bytes,"
+            + "decisions,decision_rate";
+
+    // cada geração concluída é acrescentada ao CSV assim que termina
+    public void streamCsv(Path file) throws IOException {
+        Files.write(file, (CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        csvSink = file;
+    }
+
+    private void appendCsv(GenerationStats s) {
+        try {
+            Files.write(csvSink, (csvLine(s) + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar métricas em " + csvSink + ": " + e);
+            csvSink = null;
+        }
+    }
+
+    private static String csvLine(GenerationStats s) {
+        StringBuilder b = new StringBuilder();
+        b.append(s.generation).append(',').append(s.frames).append(',').append(s.wallNanos / 1e6);
+        for (Phase p : Phase.values()) b.append(',').append(s.phaseMillis(p));
+        b.append(',').append(s.population)
+                .append(',').append(s.fitnessMean).append(',').append(s.fitnessP50)
+                .append(',').append(s.fitnessP90).append(',').append(s.fitnessP99).append(',').append(s.fitnessMax)
+                .append(',').append(s.framesToHalfDead).append(',').append(s.allocatedBytes)
+                .append(',').append(s.decisions).append(',').append(s.decisionRate());
+        return b.toString();
+    }
+
+    public void exportCsv(Path file) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(CSV_HEADER);
+            w.write('\n');
+            for (GenerationStats s : history()) {
+                w.write(csvLine(s));
+                w.write('\n');
+            }
+        }
+    }
+
+    // JSON inclui a curva completa de vivos (aliveSamples)
+    public void exportJson(Path file) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("{\"aliveSampleFrames\":" + ALIVE_SAMPLE + ",\"generations\":[");
+            boolean first = true;
+            for (GenerationStats s : history()) {
+                if (!first) w.write(',');
+                first = false;
+                w.write("\n{\"generation\":" + s.generation + ",\"frames\":" + s.frames + ",\"wallMs\":" + s.wallNanos / 1e6);
+                w.write(",\"phasesMs\":{");
+                for (Phase p : Phase.values()) {
+                    w.write((p.ordinal() > 0 ? "," : "") + "\"" + p.name().toLowerCase() + "\":" + s.phaseMillis(p));
+                }
+                w.write("},\"population\":" + s.population + ",\"fitness\":{\"mean\":" + s.fitnessMean
+                        + ",\"p50\":" + s.fitnessP50 + ",\"p90\":" + s.fitnessP90 + ",\"p99\":" + s.fitnessP99
+                        + ",\"max\":" + s.fitnessMax + "},\"framesToHalfDead\":" + s.framesToHalfDead
+                        + ",\"allocatedBytes\":" + s.allocatedBytes + ",\"decisions\":" + s.decisions
+                        + ",\"decisionRate\":" + s.decisionRate() + ",\"alive\":" + Arrays.toString(s.aliveSamples) + "}");
+            }
+            w.write("\n]}\n");
+        }
+    }
+
+    // export pelo tipo do arquivo (.json ou CSV)
+    public void export(Path file) throws IOException {
+        if (file.toString().endsWith(".json")) exportJson(file);
+        else exportCsv(file);
+    }
+}
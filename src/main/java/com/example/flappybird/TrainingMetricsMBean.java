@@ -0,0 +1,24 @@
+package com.example.flappybird;
+
+// Visão JMX (jconsole / VisualVM) da última geração concluída e da geração em andamento.
+public interface TrainingMetricsMBean {
+    int getGeneration();
+    long getFrames();
+    int getAliveCount();
+    double getBestFitnessEver();
+
+    // última geração concluída
+    double getLastInferenceMillis();
+    double getLastPhysicsMillis();
+    double getLastCollisionMillis();
+    double getLastEvolveMillis();
+    double getLastRenderMillis();
+    double getLastFitnessP50();
+    double getLastFitnessP90();
+    double getLastFitnessP99();
+    double getLastFitnessMax();
+    long getLastFramesToHalfDead();
+    long getLastAllocatedBytes();
+    double getLastDecisionRate();
+    double getLastGenerationsPerSecond();
+}
@@ -0,0 +1,110 @@
+package com.example.flappybird;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Backend SIMD (jdk.incubator.vector): cada lane é um pássaro. Os pesos vêm da arena intercalada
+// (GenomeArena.Interleaved): o peso k de L pássaros consecutivos é uma leitura contígua. Entradas e
+// saídas são transpostas por lane em scratch [neurônio][lane]. Só para DOUBLE no heap e ativações
+// sem tabela (LUT precisaria de gather por valor); o resto cai no caminho escalar.
+// Carregada por reflexão em PopulationInference.create para o programa rodar sem o módulo.
+final class VectorInference extends PopulationInference {
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+    private static final int L = S.length();
+    private static final int G = GenomeArena.LANES;
+    private static final long LANE_MASK = (1L << L) - 1; // L <= G, então cabe numa palavra do bitset
+    // marcados a partir dos quais o grupo vai pelo vetor: um grupo custa uns 3 pássaros no escalar
+    private static final int MIN_LANES = 3;
+
+    private final double[] w;
+    private final double[][] lanes;  // ativações vetoriais, um par por bloco
+    private final double[][] scalar; // para a sobra que não enche um vetor
+
+    VectorInference(GenomeArena weights, int hiddenLayers, int inputCount, int hiddenSize, int outputCount,
+                    Activation activation) {
+        super(weights, hiddenLayers, inputCount, hiddenSize, outputCount, activation);
+        if (G % L != 0) throw new IllegalStateException(L + " lanes não dividem o grupo de " + G + " da arena");
+        this.w = ((GenomeArena.Interleaved) weights).lanes;
+        int width = Math.max(Math.max(inputCount, hiddenSize) + 1, outputCount);
+        int chunks = WorkerPool.chunkCount(size);
+        lanes = new double[chunks * 2][width * L];
+        scalar = new double[chunks * 2][width];
+    }
+
+    @Override
+    public String backend() {
+        return "simd (" + L + " lanes), " + activation.name().toLowerCase();
+    }
+
+    @Override
+    public void computeMarked(long[] bits, int chunk, int from, int to) {
+        double[] a = lanes[chunk * 2], b = lanes[chunk * 2 + 1];
+        double[] sa = scalar[chunk * 2], sb = scalar[chunk * 2 + 1];
+        // grupo de L com pelo menos MIN_LANES marcados vai inteiro pelo vetor (os não marcados são
+        // ignorados depois); os outros marcados, e a sobra que não enche um vetor, pelo escalar
+        for (int i = BirdPopulation.nextSet(bits, size, from); i >= 0 && i < to; ) {
+            int group = i - i % L;
+            if (group + L <= to && Long.bitCount(bits[group >>> 6] >>> (group & 63) & LANE_MASK) >= MIN_LANES) {
+                computeLanes(group, a, b);
+                i = BirdPopulation.nextSet(bits, size, group + L);
+            } else {
+                compute(i, sa, sb);
+                i = BirdPopulation.nextSet(bits, size, i + 1);
+            }
+        }
+    }
+
+    // mesmas contas do Activation escalar; só o exp da EXACT pode diferir no último ulp
+    private DoubleVector sigmoid(DoubleVector x, DoubleVector one) {
+        switch (activation) {
+            case RATIONAL:
+                return x.mul(0.5).div(one.add(x.abs())).add(0.5);
+            case CLAMP:
+                return x.mul(0.25).add(0.5).max(0.0).min(1.0);
+            default:
+                DoubleVector sig = one.div(one.add(x.neg().lanewise(VectorOperators.EXP)));
+                return sig.blend(0.0, x.lt(-60.0)).blend(1.0, x.compare(VectorOperators.GT, 60.0));
+        }
+    }
+
+    // mesma conta do compute escalar (mul + add na mesma ordem), só o exp do sigmoid
+    // pode diferir no último ulp. base é múltiplo de L, então as L lanes ficam num só grupo da arena.
+    private void computeLanes(int base, double[] a, double[] b) {
+        int p = ((GenomeArena.Interleaved) weights).lane(base); // peso 0 das lanes base .. base + L - 1
+
+        for (int l = 0; l < L; l++) {
+            int in = (base + l) * inputCount;
+            for (int j = 0; j < inputCount; j++) a[j * L + l] = inputs[in + j];
+        }
+        DoubleVector one = DoubleVector.broadcast(S, 1.0);
+        one.intoArray(a, inputCount * L); // bias
+        int prevCount = inputCount + 1;
+
+        for (int layer = 0; layer < hiddenLayers; layer++) {
+            for (int n = 0; n < hiddenSize; n++) {
+                DoubleVector sum = DoubleVector.zero(S);
+                for (int k = 0; k < prevCount; k++, p += G) {
+                    sum = sum.add(DoubleVector.fromArray(S, a, k * L).mul(DoubleVector.fromArray(S, w, p)));
+                }
+                // relu igual ao C: [0, 10000]
+                sum.max(0.0).min(10000.0).intoArray(b, n * L);
+            }
+            one.intoArray(b, hiddenSize * L); // bias
+            double[] t = a; a = b; b = t;
+            prevCount = hiddenSize + 1;
+        }
+
+        for (int o = 0; o < outputCount; o++) {
+            DoubleVector sum = DoubleVector.zero(S);
+            for (int k = 0; k < prevCount; k++, p += G) {
+                sum = sum.add(DoubleVector.fromArray(S, a, k * L).mul(DoubleVector.fromArray(S, w, p)));
+            }
+            sigmoid(sum, one).intoArray(b, o * L);
+        }
+        for (int l = 0; l < L; l++) {
+            int out = (base + l) * outputCount;
+            for (int o = 0; o < outputCount; o++) outputs[out + o] = b[o * L + l];
+        }
+    }
+}
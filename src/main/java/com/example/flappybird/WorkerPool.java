@@ -0,0 +1,77 @@
+package com.example.flappybird;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Divide a população em blocos de tamanho fixo e processa os blocos em paralelo.
+// O particionamento não depende do número de threads e cada pássaro só é tocado pelo
+// seu bloco, então o resultado é bit a bit igual com 1 ou N threads.
+public class WorkerPool {
+    // múltiplo de 64: cada palavra do bitset de vivos pertence a um único bloco
+    public static final int CHUNK = 4096;
+
+    public interface ChunkTask {
+        // processa [from, to) do bloco `chunk`; devolve um contador (ex.: mortes) que é somado
+        int run(int chunk, int from, int to);
+    }
+
+    public final int threads;
+    private final ForkJoinPool pool; // null = tudo na thread chamadora
+    private int[] results = new int[0];
+
+    public WorkerPool(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    public static int chunkCount(int n) {
+        return (n + CHUNK - 1) / CHUNK;
+    }
+
+    // executa task em todos os blocos de [0, n) e devolve a soma dos contadores (em ordem de bloco)
+    public int forEachChunk(int n, ChunkTask task) {
+        int chunks = chunkCount(n);
+        if (pool == null || chunks == 1) {
+            int total = 0;
+            for (int c = 0; c < chunks; c++) {
+                total += task.run(c, c * CHUNK, Math.min(n, (c + 1) * CHUNK));
+            }
+            return total;
+        }
+
+        if (results.length < chunks) results = new int[chunks];
+        pool.invoke(new Range(task, results, n, 0, chunks));
+        int total = 0;
+        for (int c = 0; c < chunks; c++) total += results[c];
+        return total;
+    }
+
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    private static final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient ChunkTask task;
+        private final int[] results;
+        private final int n, lo, hi;
+
+        Range(ChunkTask task, int[] results, int n, int lo, int hi) {
+            this.task = task;
+            this.results = results;
+            this.n = n;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                results[lo] = task.run(lo, lo * CHUNK, Math.min(n, (lo + 1) * CHUNK));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Range(task, results, n, lo, mid), new Range(task, results, n, mid, hi));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.flappybird;
+
+// Cópia do que o render precisa de um frame do mundo: HUD, canos e uma amostra dos pássaros vivos
+// (os elites da geração anterior primeiro, depois um a cada `stride` vivos). Preenchida na thread
+// da simulação, lida pelo render; os arrays são reaproveitados entre capturas.
+public class WorldSnapshot {
+    public int generation;
+    public double bestFitness;
+    public int aliveCount;
+    public long framesAlive;
+    public int animIndex;
+
+    public int pipeCount;
+    public double[] pipeX = new double[8];
+    public double[] pipeTop = new double[8];
+    public double[] pipeBottom = new double[8];
+
+    public int birdCount;
+    public int eliteCount; // os primeiros eliteCount da amostra
+    public double[] birdX = new double[0];
+    public double[] birdY = new double[0];
+    public byte[] birdColor = new byte[0];
+    public byte[] birdRotation = new byte[0]; // índice em BirdPopulation.ROTATIONS
+    private int[] sample = new int[0];
+
+    public WorldSnapshot() {}
+
+    void capture(GameWorld world, int maxBirds) {
+        AIManager ai = world.ai;
+        generation = ai.generation;
+        bestFitness = ai.bestFitness;
+        aliveCount = ai.aliveCount;
+        framesAlive = world.framesAlive;
+
+        PipeTrack pipes = world.pipes;
+        if (pipeX.length < pipes.size()) {
+            pipeX = new double[pipes.size() * 2];
+            pipeTop = new double[pipeX.length];
+            pipeBottom = new double[pipeX.length];
+        }
+        pipeCount = pipes.size();
+        for (int i = 0; i < pipeCount; i++) {
+            PipePair p = pipes.get(i);
+            pipeX[i] = p.x;
+            pipeTop[i] = p.topY;
+            pipeBottom[i] = p.bottomY;
+        }
+
+        BirdPopulation birds = ai.birds;
+        animIndex = birds.animIndex;
+        if (sample.length < maxBirds) {
+            sample = new int[maxBirds];
+            birdX = new double[maxBirds];
+            birdY = new double[maxBirds];
+            birdColor = new byte[maxBirds];
+            birdRotation = new byte[maxBirds];
+        }
+
+        // elites vivos (genomas do topo da geração anterior)
+        int elites = 0;
+        Evolution ga = ai.evolution;
+        for (int k = 0; k < ga.eliteCount() && elites < maxBirds; k++) {
+            int e = ga.elite(k);
+            if (birds.isAlive(e) && !contains(elites, e)) sample[elites++] = e;
+        }
+
+        // o resto: um a cada `stride` vivos, espalhado pela população toda
+        int n = elites;
+        int stride = Math.max(1, ai.aliveCount / Math.max(1, maxBirds - elites));
+        int skip = 0;
+        for (int i = birds.nextAlive(0); i >= 0 && n < maxBirds; i = birds.nextAlive(i + 1)) {
+            if (skip++ % stride != 0 || contains(elites, i)) continue;
+            sample[n++] = i;
+        }
+
+        for (int s = 0; s < n; s++) {
+            int i = sample[s];
+            birdX[s] = birds.x[i];
+            birdY[s] = birds.y[i];
+            birdColor[s] = birds.colorIndex[i];
+            birdRotation[s] = (byte) birds.rotationBucket(i);
+        }
+        birdCount = n;
+        eliteCount = elites;
+    }
+
+    private boolean contains(int count, int v) {
+        for (int k = 0; k < count; k++) if (sample[k] == v) return true;
+        return false;
+    }
+}
@@ -1,6 +1,9 @@
 module com.example.flappybird {
-    requires javafx.controls;
+    requires transitive javafx.controls;
     requires javafx.fxml;
+    requires static jdk.incubator.vector;
+    requires java.management;
+    requires jdk.management;
 
 
     opens com.example.flappybird to javafx.fxml;
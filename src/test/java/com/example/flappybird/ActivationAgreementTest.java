@@ -0,0 +1,100 @@
+package com.example.flappybird;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+// Concordância das ativações: treina com EXACT e, a cada frame, reavalia as mesmas redes sobre as
+// entradas gravadas pelo treino. A EXACT em lote tem que dar exatamente o NeuralNetwork.compute; cada
+// aproximada não pode discordar em mais de 0.01% das decisões de flap (saída 0 > 0.5) nem passar do
+// erro máximo do seu sigmoid (MAX_DIFF). Velocidade: InferenceBench (JMH, um fork por ativação).
+class ActivationAgreementTest {
+
+    static final Activation[] APPROXIMATE = {Activation.LUT, Activation.RATIONAL, Activation.CLAMP};
+
+    // |sigmoid aproximado - logístico| máximo de cada uma (as somas são as mesmas, só o sigmoid muda):
+    // LUT interpola com passo 1/128 (~1e-6), RATIONAL chega a 0.0823, CLAMP a 0.1192 (em x = ±2)
+    static final double[] MAX_DIFF = {1e-5, 0.085, 0.125};
+
+    @Test
+    void approximateActivationsDecideLikeExact() {
+        RunConfig config = new RunConfig();
+        config.seed = 42;
+        config.population = 2000;
+        config.maxFrames = 3000;
+        config.threads = 1; // a reavaliação acumula contadores sem sincronizar
+        int generations = 5;
+
+        GameWorld world = new GameWorld(config);
+        AIManager ai = world.ai;
+        Replay replay = new Replay(ai.brains);
+        ai.brains = replay;
+        world.init();
+        int done = 0;
+        while (done < generations) {
+            if (world.step(config.dt)) done++;
+        }
+        world.workers.shutdown();
+
+        assertTrue(replay.decisions > 0, "nenhuma decisão gravada");
+        assertEquals(0, replay.networkMismatches, "EXACT em lote diferente do NeuralNetwork.compute");
+        for (int t = 0; t < APPROXIMATE.length; t++) {
+            double disagree = 100.0 * replay.flips[t] / replay.decisions;
+            assertTrue(disagree <= 0.01, APPROXIMATE[t] + " discordou em " + replay.flips[t] + " de " + replay.decisions
+                    + " decisões (|saída - exata| máx " + replay.maxDiff[t] + ")");
+            assertTrue(replay.maxDiff[t] <= MAX_DIFF[t], APPROXIMATE[t] + ": |saída - exata| máx " + replay.maxDiff[t]
+                    + " acima de " + MAX_DIFF[t]);
+        }
+    }
+
+    // inferência do treino (EXACT) que, para cada pássaro avaliado, confere a saída com o NeuralNetwork
+    // sobre os mesmos pesos e repete a conta em cada ativação aproximada
+    static final class Replay extends PopulationInference {
+        final PopulationInference[] tiers;
+        final long[] flips;
+        final double[] maxDiff;
+        long decisions, networkMismatches;
+        private final double[] a, b;
+
+        Replay(PopulationInference exact) {
+            super(exact.weights, exact.hiddenLayers, exact.inputCount, exact.hiddenSize, exact.outputCount, Activation.EXACT);
+            tiers = new PopulationInference[APPROXIMATE.length];
+            for (int t = 0; t < tiers.length; t++) {
+                tiers[t] = new PopulationInference(weights, hiddenLayers, inputCount, hiddenSize, outputCount, APPROXIMATE[t]);
+            }
+            flips = new long[tiers.length];
+            maxDiff = new double[tiers.length];
+            int width = Math.max(inputCount, hiddenSize) + 1;
+            a = new double[width];
+            b = new double[width];
+        }
+
+        @Override
+        public void computeMarked(long[] bits, int chunk, int from, int to) {
+            super.computeMarked(bits, chunk, from, to);
+            for (int i = BirdPopulation.nextSet(bits, size, from); i >= 0 && i < to; i = BirdPopulation.nextSet(bits, size, i + 1)) {
+                decisions++;
+                double[] in = Arrays.copyOfRange(inputs, i * inputCount, (i + 1) * inputCount);
+                double[] reference = new NeuralNetwork(hiddenLayers, inputCount, hiddenSize, outputCount, weights, i).compute(in);
+                if (!Arrays.equals(reference, Arrays.copyOfRange(outputs, i * outputCount, (i + 1) * outputCount))) {
+                    networkMismatches++;
+                }
+
+                boolean flap = outputs[i * outputCount] > 0.5;
+                for (int t = 0; t < tiers.length; t++) {
+                    PopulationInference p = tiers[t];
+                    System.arraycopy(in, 0, p.inputs, i * inputCount, inputCount);
+                    p.compute(i, a, b);
+                    if ((p.outputs[i * outputCount] > 0.5) != flap) flips[t]++;
+                    for (int o = 0; o < outputCount; o++) {
+                        double d = Math.abs(p.outputs[i * outputCount + o] - outputs[i * outputCount + o]);
+                        if (d > maxDiff[t]) maxDiff[t] = d;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.flappybird;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// PrecisionCheck com uma população pequena: a 1ª geração com a mesma seed em FLOAT dá o mesmo
+// fitness que em DOUBLE pássaro a pássaro, e em FIXED16 quase todos ficam iguais e quase nada muda.
+class PrecisionAgreementTest {
+
+    private static double[] run(Precision precision) {
+        RunConfig config = new RunConfig();
+        config.seed = 42;
+        config.population = 2000;
+        config.threads = 1;
+        config.precision = precision;
+        return PrecisionCheck.firstGeneration(config, 20000);
+    }
+
+    @Test
+    void floatMatchesDouble() {
+        assertArrayEquals(run(Precision.DOUBLE), run(Precision.FLOAT));
+    }
+
+    @Test
+    void fixed16AlmostMatchesDouble() {
+        double[] reference = run(Precision.DOUBLE), fixed = run(Precision.FIXED16);
+        int same = 0;
+        double absDiff = 0;
+        for (int i = 0; i < fixed.length; i++) {
+            double d = Math.abs(fixed[i] - reference[i]);
+            if (d == 0) same++;
+            absDiff += d;
+        }
+        assertTrue(same >= 0.995 * fixed.length, "FIXED16 igual a DOUBLE em só " + same + " de " + fixed.length);
+        assertTrue(absDiff / fixed.length < 0.1, "FIXED16: |dif| média " + absDiff / fixed.length);
+    }
+}